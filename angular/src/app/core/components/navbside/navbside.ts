@@ -235,7 +235,15 @@ export class Navbside implements OnInit, OnDestroy {
       this.sseSubscription = this.notificationService.listen(userId).subscribe({
         next: (n) => {
           // update count and list in real time
-          if (!n.read) {
+          // Coalesced vote/bookmark activity re-sends the same notification id with a new message/count
+          const existing = this.notifications.findIndex(x => x.id === n.id);
+          if (existing >= 0) {
+            const wasUnread = !this.notifications[existing].read;
+            this.notifications.splice(existing, 1);
+            if (!n.read && !wasUnread) {
+              this.notificationCount = Math.max(0, (this.notificationCount || 0) + 1);
+            }
+          } else if (!n.read) {
             this.notificationCount = Math.max(0, (this.notificationCount || 0) + 1);
           }
           this.notifications.unshift(n);
@@ -12,5 +12,7 @@ export interface Idea {
   isInTop10: boolean;
   attachments?: any[];
   coverImageUrl?: string;
+  // Resized cover variants; each URL serves the original until its variant is ready
+  coverImageUrls?: { thumbnail: string; card: string; full: string };
   voteType?: 'UPVOTE' | 'DOWNVOTE';
 }
\ No newline at end of file
@@ -2,7 +2,8 @@ import { Component, OnInit, OnDestroy, ChangeDetectorRef } from '@angular/core';
 import {NgClass, NgForOf, NgIf} from '@angular/common';
 import {Sidebar} from '../../core/components/sidebar/sidebar';
 import {Navbside} from '../../core/components/navbside/navbside';
-import { ProjectService } from '../../services/project.service';
+import { ProjectService, ProjectDto } from '../../services/project.service';
+import { emptyPage } from '../../services/cursor-pages';
 import { VoteService } from '../../services/vote.service';
 import { UserProfileService, UserProfile } from '../../services/user-profile.service';
 import { Subject, timeout } from 'rxjs';
@@ -41,6 +42,8 @@ export class AllProjects implements OnInit, OnDestroy {
   totalPages: number = 5;
   totalItems: number = 52;
   isLoading = true;
+  loadingMore = false;
+  nextCursor: string | null = null;
   error: string | null = null;
   private destroy$ = new Subject<void>();
   currentUser: UserProfile | null = null;
@@ -75,6 +78,8 @@ export class AllProjects implements OnInit, OnDestroy {
   loadProjects(): void {
     this.isLoading = true;
     this.error = null;
+    this.projects = [];
+    this.nextCursor = null;
 
     console.log('[DEBUG AllProjects] Starting loadProjects');
     
@@ -82,35 +87,55 @@ export class AllProjects implements OnInit, OnDestroy {
     const tenantId = localStorage.getItem('tenantId');
     console.log('[DEBUG AllProjects] Current tenantId:', tenantId);
 
+    this.loadPage(null);
+  }
+
+  // Charge la page suivante des projets (curseur conservé dans nextCursor)
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
+      return;
+    }
+    this.loadingMore = true;
+    this.loadPage(this.nextCursor);
+  }
+
+  private loadPage(cursor: string | null): void {
     // Charge directement depuis la base de données sans localStorage
-    this.projectService.getAllProjects().pipe(
+    this.projectService.getAllProjects(cursor).pipe(
       takeUntil(this.destroy$),
       timeout(10000), // 10 second timeout
       catchError(err => {
         console.error('[DEBUG AllProjects] Error/timeout loading projects:', err);
-        return of([]);
+        return of(emptyPage<ProjectDto>());
       })
     ).subscribe({
-      next: (projects: any[]) => {
-        console.log('[DEBUG AllProjects] Projects loaded:', projects.length);
-        console.log('[DEBUG AllProjects] Projects data:', projects);
+      next: page => {
+        console.log('[DEBUG AllProjects] Projects loaded:', page.items.length);
+        console.log('[DEBUG AllProjects] Projects data:', page.items);
         
-        this.projects = projects.map((p, index) => ({
-          id: p.id,
-          title: p.title,
-          description: p.description,
-          status: p.status || 'En cours',
-          progress: p.progress || (index % 3 === 0 ? 70 : index % 3 === 1 ? 85 : 60),
-          ideasCount: p.ideasCount || Math.floor(Math.random() * 20),
-          votesCount: p.votesCount || Math.floor(Math.random() * 50),
-          feedbacksCount: p.feedbacksCount || Math.floor(Math.random() * 20),
-          icon: p.icon || ['🌐', '🚀', '👥', '🌱', '📊', '🔒', '📱', '⚙️', '🔗'][index % 9]
-        }));
+        const offset = this.projects.length;
+        const projects = page.items.map((p: any, i: number) => {
+          const index = offset + i;
+          return {
+            id: p.id,
+            title: p.title,
+            description: p.description,
+            status: p.status || 'En cours',
+            progress: p.progress || (index % 3 === 0 ? 70 : index % 3 === 1 ? 85 : 60),
+            ideasCount: p.ideasCount || Math.floor(Math.random() * 20),
+            votesCount: p.votesCount || Math.floor(Math.random() * 50),
+            feedbacksCount: p.feedbacksCount || Math.floor(Math.random() * 20),
+            icon: p.icon || ['🌐', '🚀', '👥', '🌱', '📊', '🔒', '📱', '⚙️', '🔗'][index % 9]
+          };
+        });
+        this.projects = [...this.projects, ...projects];
+        this.nextCursor = page.nextCursor;
         
         console.log('[DEBUG AllProjects] Mapped projects:', this.projects);
         this.totalItems = this.projects.length;
         this.totalPages = Math.ceil(this.totalItems / this.itemsPerPage);
         this.isLoading = false;
+        this.loadingMore = false;
         console.log('[DEBUG AllProjects] Set isLoading to FALSE');
         this.cdr.detectChanges(); // Force change detection
       },
@@ -118,6 +143,7 @@ export class AllProjects implements OnInit, OnDestroy {
         this.error = 'Erreur lors du chargement des projets';
         console.error('[DEBUG AllProjects] Error:', err);
         this.isLoading = false;
+        this.loadingMore = false;
         this.cdr.detectChanges();
       }
     });
@@ -59,8 +59,8 @@ export class Bookmarks implements OnInit {
           return;
         }
 
-        // Charger les détails des idées
-        this.ideaService.getAllIdeas().pipe(
+        // Charger uniquement les idées bookmarkées, pas toute la liste de l'organisation
+        this.ideaService.getIdeasByIds(ideaIds).pipe(
           timeout(10000),
           catchError(err => {
             console.warn('[DEBUG Bookmarks] Error loading ideas:', err);
@@ -68,7 +68,7 @@ export class Bookmarks implements OnInit {
           })
         ).subscribe({
           next: (ideas: any[]) => {
-            this.bookmarkedIdeas = ideas.filter(idea => ideaIds.includes(idea.id));
+            this.bookmarkedIdeas = ideas;
             this.isLoading = false;
             this.cdr.detectChanges();
             console.log('[DEBUG Bookmarks] Loaded', this.bookmarkedIdeas.length, 'bookmarked ideas, set isLoading to FALSE');
@@ -6,12 +6,12 @@ import { Sidebar } from '../../core/components/sidebar/sidebar';
 import { Navbside } from '../../core/components/navbside/navbside';
 import { IdeaService, IdeaBackend } from '../../services/idea';
 import { ProjectService } from '../../services/project.service';
-import { VoteService, VoteDto } from '../../services/vote.service';
-import { BookmarkService, BookmarkDto } from '../../services/bookmark.service';
+import { VoteService, VoteDto, IdeaVoteSummary } from '../../services/vote.service';
+import { BookmarkService, BookmarkDto, IdeaBookmarkSummary } from '../../services/bookmark.service';
 import { UserProfileService, UserProfile } from '../../services/user-profile.service';
 import { OrganizationService } from '../../services/organization.service';
 import { Subject, forkJoin, of, timeout } from 'rxjs';
-import { finalize, takeUntil, switchMap, catchError } from 'rxjs/operators';
+import { finalize, takeUntil, switchMap, catchError, map } from 'rxjs/operators';
 import { AddIdea } from './add-idea/add-idea';
 
 export interface IdeaFrontend {
@@ -140,35 +140,25 @@ export class Dashb implements OnInit, OnDestroy {
 
     console.log('[DEBUG] Syncing votes for', this.recentIdeas.length, 'ideas for user', this.currentUser.id);
     
-    this.voteService.myVotes(this.currentUser.id).pipe(
+    // The services split the ids into batches accepted by the bulk endpoint
+    const ideaIds = this.recentIdeas.map(idea => idea.id);
+    this.voteService.voteSummaries(ideaIds, this.currentUser.id).pipe(
       takeUntil(this.destroy$)
     ).subscribe({
-      next: (votes) => {
-        console.log('[DEBUG] User votes loaded from backend:', votes);
-        const votesByIdeaId = new Map<number, VoteDto>();
-        
-        // Process votes safely
-        if (Array.isArray(votes)) {
-          votes.forEach(v => {
-            if (v && typeof v.ideaId === 'number') {
-              votesByIdeaId.set(v.ideaId, v);
-              console.log(`[DEBUG] Found vote for idea ${v.ideaId} with ID ${v.id}`);
-            }
-          });
-        }
+      next: (summaries) => {
+        console.log('[DEBUG] Vote summaries loaded from backend:', summaries);
+        const summariesByIdeaId = new Map<number, IdeaVoteSummary>();
+        (summaries || []).forEach(s => summariesByIdeaId.set(s.ideaId, s));
 
-        // Update each idea with vote information
+        // Update each idea with vote information (count + current user's vote in one response)
         this.recentIdeas.forEach(idea => {
-          const vote = votesByIdeaId.get(idea.id);
-          if (vote) {
-            idea.hasVoted = true;
-            idea.userVoteId = vote.id;
-            console.log(`[DEBUG] Idea ${idea.id}: hasVoted=true, userVoteId=${vote.id}`);
-          } else {
-            idea.hasVoted = false;
-            idea.userVoteId = undefined;
-            console.log(`[DEBUG] Idea ${idea.id}: hasVoted=false, no vote found`);
+          const summary = summariesByIdeaId.get(idea.id);
+          idea.hasVoted = !!summary?.hasVoted;
+          idea.userVoteId = summary?.myVoteId ?? undefined;
+          if (summary) {
+            idea.votesCount = summary.count;
           }
+          console.log(`[DEBUG] Idea ${idea.id}: hasVoted=${idea.hasVoted}, userVoteId=${idea.userVoteId}`);
         });
         
         // Force UI update after syncing votes with setTimeout to avoid NG0100 error
@@ -220,15 +210,15 @@ export class Dashb implements OnInit, OnDestroy {
 
     console.log('[DEBUG] Starting loadRecentIdeas');
 
-    // Use organization-based filtering
+    // Use organization-based filtering; la première page (plus récentes d'abord) suffit au widget
     this.ideaService.getIdeasForCurrentUser().pipe(
       takeUntil(this.destroy$),
       timeout(10000) // 10 second timeout
     ).subscribe({
-      next: (res: any) => {
-        console.log('[DEBUG] getIdeasForCurrentUser returned:', res);
+      next: page => {
+        console.log('[DEBUG] getIdeasForCurrentUser returned:', page);
         
-        const ideas = Array.isArray(res) ? res : res?.data ?? [];
+        const ideas = page.items;
         console.log('[DEBUG] Ideas count:', ideas.length);
 
         // Check if user has organization and ideas exist
@@ -362,9 +352,10 @@ export class Dashb implements OnInit, OnDestroy {
 
 
   loadLastIdeas(): void {
-    // Use organization-based filtering
+    // Use organization-based filtering; seules les 5 plus récentes sont affichées, la première page suffit
     this.ideaService.getIdeasForCurrentUser().subscribe({
-      next: (ideas: IdeaBackend[]) => {
+      next: page => {
+        const ideas = page.items;
         // Check if user has organization
         const tenantId = localStorage.getItem('tenantId');
         if ((!tenantId || tenantId === '1') && ideas.length === 0) {
@@ -404,21 +395,17 @@ export class Dashb implements OnInit, OnDestroy {
 
 
   loadApprovedProjects(): void {
-    // Use organization-based filtering
-    this.ideaService.getIdeasForCurrentUser().pipe(
-      switchMap((ideas: IdeaBackend[]) => {
-        // Check if user has organization
-        const tenantId = localStorage.getItem('tenantId');
-        if ((!tenantId || tenantId === '1') && ideas.length === 0) {
-          // Individual user without organization
-          this.approvedProjects = [];
-          return of([]);
-        }
-        
-        // Filter for approved ideas
-        const approvedIdeas = ideas.filter(idea => idea.status === 'APPROVED');
-        return of(approvedIdeas);
-      }),
+    // Check if user has organization
+    const tenantId = localStorage.getItem('tenantId');
+    if (!tenantId || tenantId === '1') {
+      // Individual user without organization
+      this.approvedProjects = [];
+      return;
+    }
+
+    // Idées approuvées filtrées côté serveur; la première page suffit aux 4 projets affichés
+    this.ideaService.getIdeasByStatus('APPROVED').pipe(
+      map(page => page.items),
       timeout(10000)
     ).subscribe({
       next: (approvedIdeas: IdeaBackend[]) => {
@@ -794,35 +781,26 @@ export class Dashb implements OnInit, OnDestroy {
 
     console.log('[DEBUG] Loading bookmarks from backend for user', this.currentUser.id);
     
-    this.bookmarkService.getMyBookmarks(this.currentUser.id).pipe(
+    // The services split the ids into batches accepted by the bulk endpoint
+    const ideaIds = this.recentIdeas.map(idea => idea.id);
+    if (ideaIds.length === 0) {
+      return;
+    }
+    this.bookmarkService.bookmarkSummaries(ideaIds, this.currentUser.id).pipe(
       takeUntil(this.destroy$)
     ).subscribe({
-      next: (bookmarks) => {
-        console.log('[DEBUG] User bookmarks loaded from backend:', bookmarks);
-        const bookmarksByIdeaId = new Map<number, BookmarkDto>();
-        
-        // Process bookmarks safely
-        if (Array.isArray(bookmarks)) {
-          bookmarks.forEach(b => {
-            if (b && typeof b.ideaId === 'number') {
-              bookmarksByIdeaId.set(b.ideaId, b);
-              console.log(`[DEBUG] Found bookmark for idea ${b.ideaId} with ID ${b.id}`);
-            }
-          });
-        }
+      next: (summaries) => {
+        console.log('[DEBUG] Bookmark summaries loaded from backend:', summaries);
+        const summariesByIdeaId = new Map<number, IdeaBookmarkSummary>();
+        (summaries || []).forEach(s => summariesByIdeaId.set(s.ideaId, s));
 
-        // Update each idea with bookmark information
+        // Update each idea with bookmark information (count + current user's bookmark in one response)
         this.recentIdeas.forEach(idea => {
-          const bookmark = bookmarksByIdeaId.get(idea.id);
-          if (bookmark) {
-            idea.isBookmarked = true;
-            idea.bookmarkId = bookmark.id;
-            console.log(`[DEBUG] Idea ${idea.id}: isBookmarked=true, bookmarkId=${bookmark.id}`);
-          } else {
-            idea.isBookmarked = false;
-            idea.bookmarkId = undefined;
-            console.log(`[DEBUG] Idea ${idea.id}: isBookmarked=false, no bookmark found`);
-          }
+          const summary = summariesByIdeaId.get(idea.id);
+          idea.isBookmarked = !!summary?.bookmarked;
+          idea.bookmarkId = summary?.myBookmarkId ?? undefined;
+          idea.bookmarkCount = summary?.count ?? idea.bookmarkCount;
+          console.log(`[DEBUG] Idea ${idea.id}: isBookmarked=${idea.isBookmarked}, bookmarkId=${idea.bookmarkId}`);
         });
         
         // Force UI update after loading bookmarks with setTimeout to avoid NG0100 error
@@ -43,6 +43,8 @@ export class IdeaFeedback implements OnInit, OnDestroy {
   filteredIdeas: IdeaWithFeedback[] = [];
   selectedIdea: IdeaWithFeedback | null = null;
   loading = true;
+  loadingMore = false;
+  nextCursor: string | null = null;
   error = false;
   currentUserId: number | null = null;
   currentUserName: string = '';
@@ -90,44 +92,57 @@ export class IdeaFeedback implements OnInit, OnDestroy {
   private loadMyIdeas(): void {
     this.loading = true;
     this.error = false;
+    this.ideas = [];
+    this.nextCursor = null;
 
-    // Use organization-based filtering
-    this.ideaService.getIdeasForCurrentUser().pipe(take(1)).subscribe({
-      next: (ideas: any[]) => {
-        // Check if user has organization
-        const tenantId = localStorage.getItem('tenantId');
-        if ((!tenantId || tenantId === '1') && ideas.length === 0) {
-          // Individual user without organization - show empty state
-          this.ideas = [];
-          this.applyFilters();
-          this.loading = false;
-          this.cdr.markForCheck();
-          console.log('[DEBUG Feedback] Individual user without organization - empty state');
-          return;
-        }
-
-        // Filtrer les idées de l'utilisateur courant
-        this.ideas = ideas
-          .filter(idea => idea.creatorId === this.currentUserId)
-          .map(idea => ({
-            id: idea.id,
-            title: idea.title,
-            description: idea.description,
-            status: idea.status || 'PENDING',
-            creationDate: new Date(idea.creationDate).toLocaleDateString(),
-            voteCount: idea.voteCount || 0,
-            feedbacks: idea.feedbacks || [],
-            hasNewFeedback: false
-          }));
+    // Individual user without organization - show empty state
+    const tenantId = localStorage.getItem('tenantId');
+    if (!tenantId || tenantId === '1') {
+      this.applyFilters();
+      this.loading = false;
+      this.cdr.markForCheck();
+      console.log('[DEBUG Feedback] Individual user without organization - empty state');
+      return;
+    }
+
+    this.loadPage(null);
+  }
+
+  // Charge la page suivante de mes idées (curseur conservé dans nextCursor)
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
+      return;
+    }
+    this.loadingMore = true;
+    this.loadPage(this.nextCursor);
+  }
+
+  private loadPage(cursor: string | null): void {
+    this.ideaService.getMyIdeas(cursor).pipe(take(1)).subscribe({
+      next: page => {
+        const ideas = page.items.map((idea: any) => ({
+          id: idea.id,
+          title: idea.title,
+          description: idea.description,
+          status: idea.status || 'PENDING',
+          creationDate: new Date(idea.creationDate).toLocaleDateString(),
+          voteCount: idea.voteCount || 0,
+          feedbacks: idea.feedbacks || [],
+          hasNewFeedback: false
+        }));
 
+        this.ideas = [...this.ideas, ...ideas];
+        this.nextCursor = page.nextCursor;
         this.applyFilters();
         this.loading = false;
+        this.loadingMore = false;
         this.cdr.markForCheck();
       },
       error: (err: any) => {
         console.error('Erreur chargement des idées', err);
         this.error = true;
         this.loading = false;
+        this.loadingMore = false;
         this.cdr.markForCheck();
       }
     });
@@ -39,6 +39,8 @@ interface IdeaFrontend {
 export class IdeasListComponent implements OnInit, OnDestroy {
   ideas: IdeaFrontend[] = [];
   loading = true;
+  loadingMore = false;
+  nextCursor: string | null = null;
   error = false;
   searchTerm = '';
   currentUser: UserProfile | null = null;
@@ -75,13 +77,27 @@ export class IdeasListComponent implements OnInit, OnDestroy {
   private loadIdeas(): void {
     this.loading = true;
     this.error = false;
-    
+    this.ideas = [];
+    this.nextCursor = null;
+    this.loadPage(null);
+  }
+
+  // Charge la page suivante (curseur conservé dans nextCursor)
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
+      return;
+    }
+    this.loadingMore = true;
+    this.loadPage(this.nextCursor);
+  }
+
+  private loadPage(cursor: string | null): void {
     // Use organization-based filtering like dashboard
-    this.ideaService.getIdeasForCurrentUser().pipe(takeUntil(this.destroy$)).subscribe({
-      next: (ideas: IdeaBackend[]) => {
-        console.log('Loaded ideas for current user:', ideas);
+    this.ideaService.getIdeasForCurrentUser(cursor).pipe(takeUntil(this.destroy$)).subscribe({
+      next: page => {
+        console.log('Loaded ideas for current user:', page.items);
         
-        this.ideas = ideas
+        const ideas = page.items
           .sort((a: IdeaBackend, b: IdeaBackend) => new Date(b.creationDate).getTime() - new Date(a.creationDate).getTime())
           .map((i: IdeaBackend) => ({
             id: i.id,
@@ -99,6 +115,8 @@ export class IdeasListComponent implements OnInit, OnDestroy {
             bookmarkCount: 0,
             userVoteId: undefined
           }));
+        this.ideas = [...this.ideas, ...ideas];
+        this.nextCursor = page.nextCursor;
 
         // Load votes and bookmarks after ideas are loaded
         if (this.currentUser) {
@@ -107,12 +125,14 @@ export class IdeasListComponent implements OnInit, OnDestroy {
         }
 
         this.loading = false;
+        this.loadingMore = false;
         this.cdr.markForCheck();
       },
       error: (err: any) => {
         console.error('Error loading ideas:', err);
         this.error = true;
         this.loading = false;
+        this.loadingMore = false;
         this.cdr.markForCheck();
       }
     });
@@ -5,6 +5,7 @@ import { IdeaService, IdeaBackend } from '../../services/idea';
 import { ProjectService, ProjectDto } from '../../services/project.service';
 import { UserProfileService, UserProfile } from '../../services/user-profile.service';
 import { AuthService } from '../../services/auth.service';
+import { emptyPage } from '../../services/cursor-pages';
 import { TeamAssignmentService, TeamAssignmentDTO, TeamMember, TeamAssignmentCreateRequest } from '../../services/team-assignment.service';
 import { Navbside } from '../../core/components/navbside/navbside';
 import { Sidebar } from '../../core/components/sidebar/sidebar';
@@ -45,6 +46,11 @@ export class ManagerDashboard implements OnInit, OnDestroy {
   feedbackText = '';
   
   isLoading = true;
+  // Curseurs des pages suivantes (null quand la liste est complète)
+  pendingIdeasCursor: string | null = null;
+  projectsCursor: string | null = null;
+  loadingMoreIdeas = false;
+  loadingMoreProjects = false;
   activeTab = 'ideas';
   saveMessage = '';
   
@@ -111,7 +117,7 @@ export class ManagerDashboard implements OnInit, OnDestroy {
         timeout(5000),
         catchError(err => {
           console.warn('[DEBUG ManagerDashboard] Error loading ideas:', err);
-          return of([]);
+          return of(emptyPage<IdeaBackend>());
         }),
         takeUntil(this.destroy$)
       ),
@@ -119,7 +125,7 @@ export class ManagerDashboard implements OnInit, OnDestroy {
         timeout(5000),
         catchError(err => {
           console.warn('[DEBUG ManagerDashboard] Error loading projects:', err);
-          return of([]);
+          return of(emptyPage<ProjectDto>());
         }),
         takeUntil(this.destroy$)
       ),
@@ -141,13 +147,10 @@ export class ManagerDashboard implements OnInit, OnDestroy {
       )
     }).subscribe({
       next: (result) => {
-        this.pendingIdeas = result.ideas.map(idea => ({
-          ...idea,
-          feedback: '',
-          submittedToHR: false,
-          hrApproved: false
-        }));
-        this.approvedProjects = result.projects;
+        this.pendingIdeas = result.ideas.items.map(idea => this.toPendingIdea(idea));
+        this.pendingIdeasCursor = result.ideas.nextCursor;
+        this.approvedProjects = result.projects.items;
+        this.projectsCursor = result.projects.nextCursor;
         // Filter members: only show members from same organization/tenant as current user (when info exists)
         const filteredMembers = (result.teamMembers || []).filter((m: TeamMember) => {
           // If API doesn't provide tenant info, don't filter (keep behavior)
@@ -191,8 +194,8 @@ export class ManagerDashboard implements OnInit, OnDestroy {
           project.assignedMembers.push(assignment);
         });
         
-        console.log('[DEBUG ManagerDashboard] Loaded', result.ideas.length, 'ideas,',
-          result.projects.length, 'projects,',
+        console.log('[DEBUG ManagerDashboard] Loaded', result.ideas.items.length, 'ideas,',
+          result.projects.items.length, 'projects,',
           result.teamMembers.length, 'team members,',
           result.assignments.length, 'assignments');
         
@@ -204,6 +207,8 @@ export class ManagerDashboard implements OnInit, OnDestroy {
         console.error('[DEBUG ManagerDashboard] Error loading manager data:', err);
         this.pendingIdeas = [];
         this.approvedProjects = [];
+        this.pendingIdeasCursor = null;
+        this.projectsCursor = null;
         this.teamMembers = [];
         this.projectAssignments = [];
         
@@ -213,6 +218,61 @@ export class ManagerDashboard implements OnInit, OnDestroy {
     });
   }
 
+  loadMorePendingIdeas(): void {
+    if (!this.pendingIdeasCursor || this.loadingMoreIdeas) {
+      return;
+    }
+    this.loadingMoreIdeas = true;
+    this.ideaService.getIdeasByStatus('SUBMITTED', this.pendingIdeasCursor).pipe(
+      timeout(5000),
+      takeUntil(this.destroy$)
+    ).subscribe({
+      next: page => {
+        this.pendingIdeas = [...this.pendingIdeas, ...page.items.map(idea => this.toPendingIdea(idea))];
+        this.pendingIdeasCursor = page.nextCursor;
+        this.loadingMoreIdeas = false;
+        this.cdr.detectChanges();
+      },
+      error: (err) => {
+        console.warn('[DEBUG ManagerDashboard] Error loading more ideas:', err);
+        this.loadingMoreIdeas = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  loadMoreProjects(): void {
+    if (!this.projectsCursor || this.loadingMoreProjects) {
+      return;
+    }
+    this.loadingMoreProjects = true;
+    this.projectService.getAllProjects(this.projectsCursor).pipe(
+      timeout(5000),
+      takeUntil(this.destroy$)
+    ).subscribe({
+      next: page => {
+        this.approvedProjects = [...this.approvedProjects, ...page.items];
+        this.projectsCursor = page.nextCursor;
+        this.loadingMoreProjects = false;
+        this.cdr.detectChanges();
+      },
+      error: (err) => {
+        console.warn('[DEBUG ManagerDashboard] Error loading more projects:', err);
+        this.loadingMoreProjects = false;
+        this.cdr.detectChanges();
+      }
+    });
+  }
+
+  private toPendingIdea(idea: IdeaBackend): IdeaWithFeedback {
+    return {
+      ...idea,
+      feedback: '',
+      submittedToHR: false,
+      hrApproved: false
+    };
+  }
+
   // Idea Management Methods
   selectIdea(idea: IdeaWithFeedback): void {
     this.selectedIdea = idea;
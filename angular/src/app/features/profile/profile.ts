@@ -277,8 +277,8 @@ export class Profile implements OnInit, OnDestroy {
       // Use real backend service for upload - sends to POST /api/users/{id}/profile-picture
       this.userProfileService.uploadProfilePicture(this.selectedFile).subscribe({
         next: (response: UserProfile) => {
-          // Backend returns the updated profile; picture is expected in profileImageUrl
-          const newPicture = response?.profileImageUrl || this.previewUrl;
+          // Backend returns the updated profile; profilePicture is a versioned, cacheable URL
+          const newPicture = response?.profilePicture || response?.profileImageUrl || this.previewUrl;
           this.profile.profilePicture = newPicture;
           this.previewUrl = newPicture;
           console.log('Profile picture uploaded successfully to database:', response);
@@ -314,7 +314,7 @@ export class Profile implements OnInit, OnDestroy {
           // Update local profile
           this.profile.name = updatedProfile.fullname;
           this.profile.department = updatedProfile.department || this.profile.department;
-          this.profile.profilePicture = updatedProfile.profileImageUrl || this.profile.profilePicture;
+          this.profile.profilePicture = updatedProfile.profilePicture || updatedProfile.profileImageUrl || this.profile.profilePicture;
           resolve();
         },
         error: (err) => {
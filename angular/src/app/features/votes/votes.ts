@@ -151,8 +151,8 @@ export class Votes implements OnInit, OnDestroy {
           return;
         }
 
-        // Charger les détails des idées
-        this.ideaService.getIdeasForCurrentUser().pipe(
+        // Charger uniquement les idées votées, pas toute la liste de l'organisation
+        this.ideaService.getIdeasByIds(ideaIds).pipe(
           timeout(10000),
           catchError(err => {
             console.error('[DEBUG Votes] Error/timeout loading ideas:', err);
@@ -160,19 +160,8 @@ export class Votes implements OnInit, OnDestroy {
           })
         ).subscribe({
           next: (ideas: any[]) => {
-            // Check if user has organization
-            const tenantId = localStorage.getItem('tenantId');
-            if ((!tenantId || tenantId === '1') && ideas.length === 0) {
-              // Individual user without organization - show empty state
-              this.votedIdeas = [];
-              this.isLoading = false;
-              this.cdr.detectChanges();
-              console.log('[DEBUG Votes] Individual user without organization - empty state');
-              return;
-            }
-
             // Associer les votes aux idées
-            this.votedIdeas = (ideas || []).filter(idea => ideaIds.includes(idea.id));
+            this.votedIdeas = ideas || [];
             
             // Ajouter le type de vote à chaque idée
             this.votedIdeas.forEach(idea => {
@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable, ReplaySubject } from 'rxjs';
 import { tap } from 'rxjs/operators';
+import { fetchInChunks } from './bulk-requests';
 
 export interface BookmarkDto {
   id?: number;
@@ -10,6 +11,13 @@ export interface BookmarkDto {
   createdAt?: string;
 }
 
+export interface IdeaBookmarkSummary {
+  ideaId: number;
+  count: number;
+  bookmarked: boolean;
+  myBookmarkId?: number;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -68,4 +76,13 @@ export class BookmarkService {
     });
     return this.http.get<boolean>(`${this.baseUrl}/hasBookmarked?ideaId=${ideaId}`, { headers });
   }
+
+  // One request per 200 ideas of the feed instead of count + hasBookmarked per card
+  bookmarkSummaries(ideaIds: number[], userId: number): Observable<IdeaBookmarkSummary[]> {
+    const headers = new HttpHeaders({
+      'X-User-Id': userId.toString()
+    });
+    return fetchInChunks(ideaIds, chunk =>
+      this.http.get<IdeaBookmarkSummary[]>(`${this.baseUrl}/bulk?ideaIds=${chunk.join(',')}`, { headers }));
+  }
 }
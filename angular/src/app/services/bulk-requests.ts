@@ -0,0 +1,22 @@
+import { Observable, forkJoin, of } from 'rxjs';
+import { map } from 'rxjs/operators';
+
+// Maximum number of ids accepted by the /bulk endpoints of the API
+const BULK_LIMIT = 200;
+
+/**
+ * Splits the ids into batches accepted by a /bulk endpoint, sends the batches in parallel
+ * and merges the responses in batch order.
+ */
+export function fetchInChunks<T>(ids: number[], fetch: (chunk: number[]) => Observable<T[]>): Observable<T[]> {
+  if (ids.length === 0) {
+    return of([]);
+  }
+  const requests: Observable<T[]>[] = [];
+  for (let i = 0; i < ids.length; i += BULK_LIMIT) {
+    requests.push(fetch(ids.slice(i, i + BULK_LIMIT)));
+  }
+  return forkJoin(requests).pipe(
+    map(pages => pages.reduce((all, page) => all.concat(page ?? []), [] as T[]))
+  );
+}
@@ -0,0 +1,36 @@
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
+import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
+
+// Taille de page demandée aux listes paginées de l'API
+export const PAGE_SIZE = 50;
+
+/** Une page d'une liste paginée par curseur; nextCursor est null sur la dernière page. */
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+/** Page vide, pour les cas où aucune requête n'est nécessaire. */
+export function emptyPage<T>(): CursorPage<T> {
+  return { items: [], nextCursor: null };
+}
+
+/**
+ * Récupère une seule page d'une liste paginée par curseur.
+ * Le curseur de la page suivante est lu dans l'en-tête X-Next-Cursor et doit être
+ * conservé par l'appelant pour charger la suite à la demande.
+ */
+export function fetchPage<T>(http: HttpClient, url: string, cursor?: string | null,
+                             headers?: HttpHeaders): Observable<CursorPage<T>> {
+  let params = new HttpParams().set('limit', PAGE_SIZE);
+  if (cursor) {
+    params = params.set('cursor', cursor);
+  }
+  return http.get<T[]>(url, { headers, params, observe: 'response' }).pipe(
+    map(response => ({
+      items: response.body ?? [],
+      nextCursor: response.headers.get('X-Next-Cursor')
+    }))
+  );
+}
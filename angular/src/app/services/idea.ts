@@ -1,6 +1,8 @@
 import { Injectable } from '@angular/core';
 import {HttpClient, HttpHeaders} from '@angular/common/http';
-import { Observable, of } from 'rxjs';
+import { Observable, forkJoin, of } from 'rxjs';
+import { catchError, map } from 'rxjs/operators';
+import { CursorPage, emptyPage, fetchPage } from './cursor-pages';
 import {IdeaFrontend} from '../features/dashb/dashb';
 
 export interface IdeaBackend {
@@ -54,39 +56,53 @@ export class IdeaService {
 
   constructor(private http: HttpClient) {}
 
-  getAllIdeas(): Observable<IdeaBackend[]> {
-    return this.http.get<IdeaBackend[]>(this.baseUrl);
+  getAllIdeas(cursor?: string | null): Observable<CursorPage<IdeaBackend>> {
+    return fetchPage<IdeaBackend>(this.http, this.baseUrl, cursor);
   }
 
-  getIdeasByOrganization(organizationId: number): Observable<IdeaBackend[]> {
+  getIdeasByOrganization(organizationId: number, cursor?: string | null): Observable<CursorPage<IdeaBackend>> {
     const headers = new HttpHeaders({
       'X-Tenant-Id': organizationId.toString()
     });
-    return this.http.get<IdeaBackend[]>(`${this.baseUrl}/organization/${organizationId}`, { headers });
+    return fetchPage<IdeaBackend>(this.http, `${this.baseUrl}/organization/${organizationId}`, cursor, headers);
   }
 
-  getIdeasForCurrentUser(): Observable<IdeaBackend[]> {
+  getIdeasForCurrentUser(cursor?: string | null): Observable<CursorPage<IdeaBackend>> {
     const tenantId = localStorage.getItem('tenantId');
-    const userId = localStorage.getItem('userId');
     
     if (tenantId && tenantId !== '1') {
       // User belongs to an organization, filter by organization
-      return this.getIdeasByOrganization(parseInt(tenantId));
+      return this.getIdeasByOrganization(parseInt(tenantId), cursor);
     } else {
-      // Individual user or default tenant, return empty array
-      return of([]);
+      // Individual user or default tenant, return an empty page
+      return of(emptyPage<IdeaBackend>());
     }
   }
 
+  // Idées créées par l'utilisateur courant (X-User-Id / X-Tenant-Id propagés par la gateway)
+  getMyIdeas(cursor?: string | null): Observable<CursorPage<IdeaBackend>> {
+    return fetchPage<IdeaBackend>(this.http, `${this.baseUrl}/me`, cursor);
+  }
+
   getTopIdeas(): Observable<IdeaBackend[]> {
     return this.http.get<IdeaBackend[]>(`${this.baseUrl}/top10`);
   }
 
-  getIdeasByStatus(status: string): Observable<IdeaBackend[]> {
+  getIdeasByStatus(status: string, cursor?: string | null): Observable<CursorPage<IdeaBackend>> {
     const headers = new HttpHeaders({
       'X-Tenant-Id': localStorage.getItem('tenantId') || '1'
     });
-    return this.http.get<IdeaBackend[]>(`${this.baseUrl}/status/${status}`, { headers });
+    return fetchPage<IdeaBackend>(this.http, `${this.baseUrl}/status/${status}`, cursor, headers);
+  }
+
+  // Plusieurs idées par identifiant; les idées introuvables sont ignorées
+  getIdeasByIds(ids: number[]): Observable<IdeaBackend[]> {
+    if (ids.length === 0) {
+      return of([]);
+    }
+    return forkJoin(ids.map(id => this.getIdeaById(id).pipe(catchError(() => of(null))))).pipe(
+      map(ideas => ideas.filter((idea): idea is IdeaBackend => idea !== null))
+    );
   }
 
   // Créer une nouvelle idée avec image (en base64)
@@ -29,6 +29,16 @@ export class NotificationService {
     return this.http.post(`${this.apiUrl}/${id}/read`, {});
   }
 
+  markAllRead(userId: number): Observable<number> {
+    return this.http.post<number>(`${this.apiUrl}/read-all?userId=${userId}`, {});
+  }
+
+  // Without ids, deletes every notification of the user
+  deleteMany(userId: number, ids?: string[]): Observable<number> {
+    const idsParam = ids && ids.length ? `&ids=${ids.map(encodeURIComponent).join(',')}` : '';
+    return this.http.delete<number>(`${this.apiUrl}?userId=${userId}${idsParam}`);
+  }
+
   // Attempt to open an SSE stream for real-time notifications.
   // Note: EventSource cannot send custom headers. If your backend requires
   // Authorization headers, provide a token query param handling on the server.
@@ -1,6 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { CursorPage, fetchPage } from './cursor-pages';
 
 export interface ProjectDto {
   id?: number;
@@ -32,15 +33,15 @@ export class ProjectService {
     return headers;
   }
 
-  // Fetch approved ideas as projects
-  getAllProjects(): Observable<ProjectDto[]> {
+  // Fetch one page of approved ideas as projects
+  getAllProjects(cursor?: string | null): Observable<CursorPage<ProjectDto>> {
     const headers = this.getHeaders();
     const url = `${this.baseUrl}/status/APPROVED`;
     
     console.log('[DEBUG ProjectService] Getting all projects from:', url);
     console.log('[DEBUG ProjectService] Using gateway-propagated headers (no manual X-Tenant-Id)');
     
-    return this.http.get<ProjectDto[]>(url, { headers });
+    return fetchPage<ProjectDto>(this.http, url, cursor, headers);
   }
 
   getProjectById(id: number): Observable<ProjectDto> {
@@ -15,6 +15,7 @@ export interface UserProfile {
   tenantName?: string;
   profileImageUrl?: string;
   profilePicture?: string;
+  profilePictureThumbnail?: string;
 }
 
 export interface ProfileUpdateRequest {
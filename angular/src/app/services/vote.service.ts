@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable, ReplaySubject } from 'rxjs';
 import { tap } from 'rxjs/operators';
+import { fetchInChunks } from './bulk-requests';
 
 export interface VoteDto {
   id?: number;
@@ -11,6 +12,15 @@ export interface VoteDto {
   createdAt?: string;
 }
 
+export interface IdeaVoteSummary {
+  ideaId: number;
+  count: number;
+  countsByType: { UPVOTE?: number; DOWNVOTE?: number };
+  hasVoted: boolean;
+  myVoteId?: number;
+  myVoteType?: 'UPVOTE' | 'DOWNVOTE';
+}
+
 export interface LikeDto {
   id?: number;
   ideaId: number;
@@ -78,6 +88,15 @@ export class VoteService {
     return this.http.get<boolean>(`${this.baseUrl}/hasVoted?ideaId=${ideaId}`, { headers });
   }
 
+  // One request per 200 ideas of the feed instead of count + hasVoted per card
+  voteSummaries(ideaIds: number[], userId: number): Observable<IdeaVoteSummary[]> {
+    const headers = new HttpHeaders({
+      'X-User-Id': userId.toString()
+    });
+    return fetchInChunks(ideaIds, chunk =>
+      this.http.get<IdeaVoteSummary[]>(`${this.baseUrl}/bulk?ideaIds=${chunk.join(',')}`, { headers }));
+  }
+
   // Like endpoints
   addLike(like: LikeDto, userId: number): Observable<LikeDto> {
     const headers = new HttpHeaders({
@@ -7,10 +7,11 @@ import com.example.teamservice.Model.Dto.TeamAssignmentUpdateRequest;
 import com.example.teamservice.Model.Entities.TeamAssignment;
 import com.example.teamservice.Repository.TeamAssignmentRepository;
 import com.example.teamservice.mapper.TeamAssignmentMapper;
-import com.example.teamservice.messaging.NotificationEvent;
-import com.example.teamservice.messaging.NotificationPublisher;
+import com.example.messaging.NotificationEvent;
+import com.example.messaging.NotificationPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -23,18 +24,19 @@ public class TeamAssignmentServiceImpl implements TeamAssignmentService {
     private final NotificationPublisher notificationPublisher;
 
     @Override
+    @Transactional
     public TeamAssignmentDTO create(TeamAssignmentCreateRequest request) {
         TeamAssignment toSave = mapper.toEntity(request);
         TeamAssignment saved = repository.save(toSave);
 
-       NotificationEvent event = NotificationEvent.builder()
+        NotificationEvent event = NotificationEvent.builder()
                 .userId(saved.getUserId())
                 .type("TEAM_ASSIGNED")
                 .title("Affectation à une équipe")
                 .message("Vous avez été assigné au rôle " + saved.getRole() + " sur l'idée " + saved.getIdeaId())
                 .createdAt(java.time.Instant.now())
                 .build();
-        notificationPublisher.publish(event);
+        notificationPublisher.publish(String.valueOf(saved.getUserId()), event);
 
         return mapper.toDTO(saved);
     }
@@ -3,9 +3,11 @@ package com.example.teamservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.example.teamservice.client")
+@EnableScheduling
 public class TeamServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(TeamServiceApplication.class, args);
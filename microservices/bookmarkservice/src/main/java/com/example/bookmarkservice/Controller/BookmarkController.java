@@ -1,6 +1,7 @@
 package com.example.bookmarkservice.Controller;
 
 import com.example.bookmarkservice.Model.Dto.BookmarkDto;
+import com.example.bookmarkservice.Model.Dto.IdeaBookmarkSummary;
 import com.example.bookmarkservice.Service.BookmarkService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +13,8 @@ import java.util.List;
 @RequestMapping("/api/bookmarks")
 public class BookmarkController {
 
+    private static final int MAX_BULK_IDEAS = 200;
+
     private final BookmarkService service;
 
     public BookmarkController(BookmarkService service) {
@@ -41,6 +44,17 @@ public class BookmarkController {
         return service.hasBookmarked(currentUserId, ideaId);
     }
 
+    // Fil d'idées: comptages + favoris de l'utilisateur courant en un aller-retour
+    @GetMapping("/bulk")
+    public List<IdeaBookmarkSummary> bulkSummaries(
+            @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+            @RequestParam List<Long> ideaIds) {
+        if (ideaIds.size() > MAX_BULK_IDEAS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK_IDEAS + " ideaIds per request");
+        }
+        return service.getBookmarkSummaries(ideaIds, currentUserId);
+    }
+
     @PostMapping
     public BookmarkDto add(@RequestBody BookmarkDto dto,
                            @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
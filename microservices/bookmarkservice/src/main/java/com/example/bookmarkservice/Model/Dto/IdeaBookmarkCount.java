@@ -0,0 +1,10 @@
+package com.example.bookmarkservice.Model.Dto;
+
+/**
+ * Ligne agrégée par idée: nombre de favoris et id du favori de l'utilisateur courant (null sinon).
+ */
+public interface IdeaBookmarkCount {
+    Long getIdeaId();
+    Long getTotal();
+    Long getMyBookmarkId();
+}
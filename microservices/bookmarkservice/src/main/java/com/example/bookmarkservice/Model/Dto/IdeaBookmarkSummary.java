@@ -0,0 +1,17 @@
+package com.example.bookmarkservice.Model.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdeaBookmarkSummary {
+    private Long ideaId;
+    private long count;
+    private boolean bookmarked;
+    private Long myBookmarkId; // null si l'utilisateur n'a pas mis l'idée en favori
+}
@@ -9,7 +9,9 @@ import lombok.Setter;
 @Entity
 @Table(
         name = "bookmarks",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "idea_id"})
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "idea_id"}),
+        // Pendant de la contrainte unique pour les lectures par idée (comptage groupé couvert par l'index)
+        indexes = @Index(name = "idx_bookmarks_idea_user", columnList = "idea_id, user_id")
 )
 public class Bookmark {
 
@@ -1,8 +1,12 @@
 package com.example.bookmarkservice.Repository;
 
+import com.example.bookmarkservice.Model.Dto.IdeaBookmarkCount;
 import com.example.bookmarkservice.Model.entities.Bookmark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
@@ -12,4 +16,10 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     boolean existsByUserIdAndIdeaId(Long userId, Long ideaId);
 
     long countByIdeaId(Long ideaId);
+
+    // Une requête pour tout un fil: comptage par idée + favori de l'utilisateur (userId null: aucun)
+    @Query("SELECT b.ideaId AS ideaId, COUNT(b) AS total, " +
+            "MAX(CASE WHEN b.userId = :userId THEN b.id ELSE NULL END) AS myBookmarkId " +
+            "FROM Bookmark b WHERE b.ideaId IN :ideaIds GROUP BY b.ideaId")
+    List<IdeaBookmarkCount> summarizeByIdeaIds(@Param("ideaIds") Collection<Long> ideaIds, @Param("userId") Long userId);
 }
@@ -1,6 +1,7 @@
 package com.example.bookmarkservice.Service;
 
 import com.example.bookmarkservice.Model.Dto.BookmarkDto;
+import com.example.bookmarkservice.Model.Dto.IdeaBookmarkSummary;
 
 import java.util.List;
 
@@ -17,4 +18,6 @@ public interface BookmarkService {
     long countBookmarksByIdea(Long ideaId);
 
     boolean hasBookmarked(Long userId, Long ideaId);
+
+    List<IdeaBookmarkSummary> getBookmarkSummaries(List<Long> ideaIds, Long userId);
 }
@@ -3,16 +3,22 @@ package com.example.bookmarkservice.Service;
 import com.example.bookmarkservice.Exceptions.BookmarkAlreadyExistsException;
 import com.example.bookmarkservice.Exceptions.BookmarkNotFoundException;
 import com.example.bookmarkservice.Model.Dto.BookmarkDto;
+import com.example.bookmarkservice.Model.Dto.IdeaBookmarkCount;
+import com.example.bookmarkservice.Model.Dto.IdeaBookmarkSummary;
 import com.example.bookmarkservice.Model.entities.Bookmark;
 import com.example.bookmarkservice.Repository.BookmarkRepository;
 import com.example.bookmarkservice.client.IdeaClient;
 import com.example.bookmarkservice.mapper.BookmarkMapper;
-import com.example.bookmarkservice.messaging.NotificationEvent;
-import com.example.bookmarkservice.messaging.NotificationPublisher;
+import com.example.messaging.NotificationEvent;
+import com.example.messaging.NotificationPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class BookmarkServiceImpl implements BookmarkService {
@@ -60,8 +66,10 @@ public class BookmarkServiceImpl implements BookmarkService {
                     .title("Nouveau bookmark")
                     .message(msg)
                     .createdAt(Instant.now())
+                    .ideaId(dto.getIdeaId())
+                    .actorName(actorName)
                     .build();
-            notificationPublisher.publish(String.valueOf(dto.getIdeaId()), event);
+            notificationPublisher.publish(String.valueOf(ownerId), event);
         }
 
         return mapper.toDto(saved);
@@ -118,4 +126,29 @@ public class BookmarkServiceImpl implements BookmarkService {
     public boolean hasBookmarked(Long userId, Long ideaId) {
         return repository.existsByUserIdAndIdeaId(userId, ideaId);
     }
+
+    @Override
+    public List<IdeaBookmarkSummary> getBookmarkSummaries(List<Long> ideaIds, Long userId) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(ideaIds));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, IdeaBookmarkCount> rows = new HashMap<>();
+        for (IdeaBookmarkCount row : repository.summarizeByIdeaIds(ids, userId)) {
+            rows.put(row.getIdeaId(), row);
+        }
+
+        List<IdeaBookmarkSummary> summaries = new ArrayList<>(ids.size());
+        for (Long ideaId : ids) {
+            IdeaBookmarkCount row = rows.get(ideaId);
+            Long myBookmarkId = row == null ? null : row.getMyBookmarkId();
+            summaries.add(IdeaBookmarkSummary.builder()
+                    .ideaId(ideaId)
+                    .count(row == null ? 0L : row.getTotal())
+                    .bookmarked(myBookmarkId != null)
+                    .myBookmarkId(myBookmarkId)
+                    .build());
+        }
+        return summaries;
+    }
 }
@@ -1,23 +1,56 @@
 package com.example.bookmarkservice.client;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class IdeaClient {
 
     private final RestTemplate restTemplate;
+    // LRU ideaId -> creatorId; le propriétaire d'une idée ne change pas, aucune expiration nécessaire.
+    // Alimenté par les événements idea-created et par les appels à ideaservice.
+    private final Map<Long, Long> ownerCache;
+
+    public IdeaClient(RestTemplate restTemplate,
+                      @Value("${app.ideas.owner-cache.max-size:10000}") int maxSize) {
+        this.restTemplate = restTemplate;
+        this.ownerCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 
     public Long getIdeaOwnerId(Long ideaId) {
-        var idea = restTemplate.getForObject("http://ideaservice/api/ideas/" + ideaId, IdeaSummary.class);
-        return idea != null ? idea.getCreatorId() : null;
+        Long cached = ownerCache.get(ideaId);
+        if (cached != null) {
+            return cached;
+        }
+        // Endpoint minimal: pas de construction de l'IdeaDTO complet côté ideaservice
+        var idea = restTemplate.getForObject("http://ideaservice/api/ideas/" + ideaId + "/owner", IdeaSummary.class);
+        Long ownerId = idea != null ? idea.getCreatorId() : null;
+        rememberOwner(ideaId, ownerId);
+        return ownerId;
+    }
+
+    public void rememberOwner(Long ideaId, Long ownerId) {
+        if (ideaId != null && ownerId != null) {
+            ownerCache.put(ideaId, ownerId);
+        }
     }
 
     @lombok.Data
     public static class IdeaSummary {
         private Long id;
         private Long creatorId;
+        private Long organizationId;
     }
 }
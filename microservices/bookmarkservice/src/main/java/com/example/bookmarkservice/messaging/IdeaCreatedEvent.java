@@ -11,10 +11,9 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class NotificationEvent {
-    private Long userId; 
-    private String type; 
-    private String title;
-    private String message;
+public class IdeaCreatedEvent {
+    private Long ideaId;
+    private Long creatorId;
+    private Long organizationId;
     private Instant createdAt;
 }
@@ -0,0 +1,30 @@
+package com.example.bookmarkservice.messaging;
+
+import com.example.bookmarkservice.client.IdeaClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdeaEventListener {
+
+    private final IdeaClient ideaClient;
+
+    // Groupe propre à chaque instance: chaque cache local doit voir toutes les créations
+    @KafkaListener(topics = "${app.kafka.topics.idea-events}",
+            groupId = "${spring.application.name}-ideas-${random.uuid}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.example.bookmarkservice.messaging.IdeaCreatedEvent"
+            })
+    public void onIdeaCreated(IdeaCreatedEvent event) {
+        if (event == null) {
+            return;
+        }
+        ideaClient.rememberOwner(event.getIdeaId(), event.getCreatorId());
+        log.debug("Cached owner {} of idea {}", event.getCreatorId(), event.getIdeaId());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.gateway.Config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache borné des jetons déjà vérifiés, indexé par le SHA-256 du jeton (le jeton lui-même n'est pas conservé comme clé).
+ * Une entrée garde le Jwt décodé et les en-têtes X-User-* / X-Tenant-* précalculés jusqu'à son {@code exp}:
+ * les requêtes suivantes d'une même session évitent la vérification HMAC, le parsing et la construction des en-têtes.
+ * Le jeton n'est haché qu'une fois par requête (dans {@link #decode}); les en-têtes sont ensuite retrouvés
+ * à partir de l'instance de Jwt retournée.
+ * Statistiques exposées via Micrometer: cache.gets{cache=verified-jwt,result=hit|miss}, cache.evictions, ...
+ */
+public class CachingJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<String, VerifiedToken> cache;
+    // Par instance de Jwt (identité, clés faibles): libérée avec le Jwt, une fois sorti du cache et des requêtes en cours
+    private final Cache<Jwt, Map<String, String>> headersByJwt = Caffeine.newBuilder().weakKeys().build();
+
+    public CachingJwtDecoder(ReactiveJwtDecoder delegate, long maxSize, Duration maxTtl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        // Jusqu'à exp, plafonné par maxTtl (jetons sans exp ou à très longue durée)
+                        Instant exp = value.jwt().getExpiresAt();
+                        Duration ttl = exp == null ? maxTtl : Duration.between(Instant.now(), exp);
+                        if (ttl.compareTo(maxTtl) > 0) {
+                            ttl = maxTtl;
+                        }
+                        return Math.max(0, ttl.toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified-jwt");
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        String digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return Mono.just(cached.jwt());
+        }
+        // Seuls les jetons valides sont mis en cache: un jeton rejeté est revérifié à chaque fois
+        return delegate.decode(token)
+                .doOnNext(jwt -> {
+                    Map<String, String> headers = buildHeaders(jwt);
+                    headersByJwt.put(jwt, headers);
+                    cache.put(digest, new VerifiedToken(jwt, headers));
+                });
+    }
+
+    /**
+     * En-têtes à propager pour ce Jwt (celui retourné par {@link #decode}): précalculés, sinon recalculés.
+     */
+    public Map<String, String> headersFor(Jwt jwt) {
+        Map<String, String> headers = headersByJwt.getIfPresent(jwt);
+        return headers != null ? headers : buildHeaders(jwt);
+    }
+
+    private static Map<String, String> buildHeaders(Jwt jwt) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        String username = jwt.getSubject();
+        headers.put("X-User-Name", username != null ? username : "");
+        putClaim(headers, "X-User-Id", jwt, "userId");
+        putClaim(headers, "X-User-Role", jwt, "role");
+        putClaim(headers, "X-Tenant-Id", jwt, "tenantId");
+        putClaim(headers, "X-Tenant-Type", jwt, "tenantType");
+        putClaim(headers, "X-Entity-Type", jwt, "entityType");
+        return Map.copyOf(headers);
+    }
+
+    private static void putClaim(Map<String, String> headers, String header, Jwt jwt, String claim) {
+        Object value = jwt.getClaims().get(claim);
+        if (value != null) {
+            headers.put(header, String.valueOf(value));
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(Jwt jwt, Map<String, String> headers) {}
+}
@@ -1,5 +1,6 @@
 package com.example.gateway.Config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +15,7 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -22,6 +24,18 @@ public class SecurityConfig {
     @Value("${application.security.jwt.secret-key:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
+    @Value("${application.security.jwt.cache.max-size:50000}")
+    private long jwtCacheMaxSize;
+
+    @Value("${application.security.jwt.cache.max-ttl:PT1H}")
+    private Duration jwtCacheMaxTtl;
+
+    private final MeterRegistry meterRegistry;
+
+    public SecurityConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
         http
@@ -38,6 +52,10 @@ public class SecurityConfig {
                         "/api/onboarding/sso/**",
                         "/api/notifications/**"
                 ).permitAll()
+                // Photos de profil chargées par des balises <img>, sans jeton
+                .pathMatchers(HttpMethod.GET, "/api/users/*/profile-picture").permitAll()
+                // Variantes de couverture des idées (cartes du fil): v, préfixe du hash du contenu, vérifié par ideaservice
+                .pathMatchers(HttpMethod.GET, "/api/ideas/attachments/*/cover/*").permitAll()
                 .anyExchange().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2.jwt(customizer -> customizer.jwtDecoder(jwtDecoder())));
@@ -46,35 +64,24 @@ public class SecurityConfig {
     }
 
     @Bean
-    public ReactiveJwtDecoder jwtDecoder() {
+    public CachingJwtDecoder jwtDecoder() {
         var keyBytes = java.util.Base64.getDecoder().decode(secretKey);
         var secret = new SecretKeySpec(keyBytes, "HmacSHA256");
-        return NimbusReactiveJwtDecoder.withSecretKey(secret).build();
+        ReactiveJwtDecoder verifier = NimbusReactiveJwtDecoder.withSecretKey(secret).build();
+        return new CachingJwtDecoder(verifier, jwtCacheMaxSize, jwtCacheMaxTtl, meterRegistry);
     }
 
     @Bean
-    public GlobalFilter propagateUserHeadersFilter() {
+    public GlobalFilter propagateUserHeadersFilter(CachingJwtDecoder jwtDecoder) {
         return (exchange, chain) -> exchange.getPrincipal()
             .cast(AbstractAuthenticationToken.class)
             .flatMap(auth -> {
                 Object principal = auth.getPrincipal();
                 if (principal instanceof Jwt jwt) {
-                    String username = jwt.getSubject();
-                    Object userId = jwt.getClaims().get("userId");
-                    Object role = jwt.getClaims().get("role");
-                    Object tenantId = jwt.getClaims().get("tenantId");
-                    Object tenantType = jwt.getClaims().get("tenantType");
-                    Object entityType = jwt.getClaims().get("entityType");
-                    
+                    // En-têtes précalculés lors de la première vérification du jeton
+                    var headers = jwtDecoder.headersFor(jwt);
                     var mutated = exchange.getRequest().mutate()
-                            .header("X-User-Name", username != null ? username : "")
-                            .headers(h -> {
-                                if (userId != null) h.set("X-User-Id", String.valueOf(userId));
-                                if (role != null) h.set("X-User-Role", String.valueOf(role));
-                                if (tenantId != null) h.set("X-Tenant-Id", String.valueOf(tenantId));
-                                if (tenantType != null) h.set("X-Tenant-Type", String.valueOf(tenantType));
-                                if (entityType != null) h.set("X-Entity-Type", String.valueOf(entityType));
-                            })
+                            .headers(h -> headers.forEach(h::set))
                             .build();
                     return chain.filter(exchange.mutate().request(mutated).build());
                 }
@@ -0,0 +1,30 @@
+package com.example.ideaservice.Config;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Configuration
+public class FeignConfig {
+
+    // userservice exige un JWT: on relaie celui de la requête entrante
+    @Bean
+    public RequestInterceptor authForwardingInterceptor() {
+        return template -> {
+            var attrs = RequestContextHolder.getRequestAttributes();
+            if (attrs instanceof ServletRequestAttributes servletAttrs) {
+                var req = servletAttrs.getRequest();
+                var auth = req.getHeader("Authorization");
+                if (auth != null && !auth.isBlank()) {
+                    template.header("Authorization", auth);
+                }
+                var requestId = req.getHeader("X-Request-Id");
+                if (requestId != null && !requestId.isBlank()) {
+                    template.header("X-Request-Id", requestId);
+                }
+            }
+        };
+    }
+}
@@ -1,33 +1,35 @@
 package com.example.ideaservice.Controller;
 
-import com.example.ideaservice.Repository.AttachementRepository;
-import com.example.ideaservice.Model.entities.Attachment;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import com.example.ideaservice.Model.enums.CoverVariant;
+import com.example.ideaservice.Service.AttachmentStreamingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/ideas/attachments")
 @Slf4j
 public class AttachmentController {
 
-    private final AttachementRepository attachementRepository;
+    private final AttachmentStreamingService attachmentStreamingService;
 
-    public AttachmentController(AttachementRepository attachementRepository) {
-        this.attachementRepository = attachementRepository;
+    public AttachmentController(AttachmentStreamingService attachmentStreamingService) {
+        this.attachmentStreamingService = attachmentStreamingService;
     }
 
-    @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> download(
+    // Le contenu est écrit directement dans la réponse (Range/206, ETag, Last-Modified gérés par le service)
+    @RequestMapping(value = "/{id}/download", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void download(
             @PathVariable Long id,
             @RequestHeader(value = "X-User-Id", required = false) Long userId,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long tenantId,
             @RequestParam(value = "userId", required = false) String queryUserId,
-            @RequestParam(value = "tenantId", required = false) String queryTenantId) {
+            @RequestParam(value = "tenantId", required = false) String queryTenantId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         
         log.info("Attachment download request - ID: {}, Headers - userId: {}, tenantId: {}, Query - userId: {}, tenantId: {}", 
                 id, userId, tenantId, queryUserId, queryTenantId);
@@ -40,59 +42,38 @@ public class AttachmentController {
         
         if (finalUserId == null || finalTenantId == null) {
             log.warn("Authentication failed - missing userId or tenantId");
-            return ResponseEntity.status(401).build();
-        }
-        
-        Attachment att = attachementRepository.findById(id).orElse(null);
-        if (att == null) {
-            log.warn("Attachment not found with ID: {}", id);
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
         }
 
-        if (att.getData() == null || att.getData().length == 0) {
-            log.warn("Attachment data is empty for ID: {}", id);
-            return ResponseEntity.notFound().build();
+        if (!attachmentStreamingService.stream(id, false, request, response)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         }
-
-        Resource res = new ByteArrayResource(att.getData());
-
-        String contentType = att.getFileType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : att.getFileType();
-        String filename = att.getFileName() == null ? "file" : att.getFileName();
-
-        log.info("Successfully serving attachment: {}, size: {} bytes", filename, att.getData().length);
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename.replace("\"", "") + "\"")
-                .body(res);
     }
 
     // Temporary endpoint for testing without authentication
-    @GetMapping("/{id}/download-public")
-    public ResponseEntity<Resource> downloadPublic(@PathVariable Long id) {
+    @RequestMapping(value = "/{id}/download-public", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadPublic(@PathVariable Long id,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
         log.info("Public attachment download request - ID: {}", id);
-        
-        Attachment att = attachementRepository.findById(id).orElse(null);
-        if (att == null) {
-            log.warn("Attachment not found with ID: {}", id);
-            return ResponseEntity.notFound().build();
-        }
 
-        if (att.getData() == null || att.getData().length == 0) {
-            log.warn("Attachment data is empty for ID: {}", id);
-            return ResponseEntity.notFound().build();
+        if (!attachmentStreamingService.stream(id, true, request, response)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         }
+    }
 
-        Resource res = new ByteArrayResource(att.getData());
-
-        String contentType = att.getFileType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : att.getFileType();
-        String filename = att.getFileName() == null ? "file" : att.getFileName();
-
-        log.info("Successfully serving public attachment: {}, size: {} bytes", filename, att.getData().length);
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename.replace("\"", "") + "\"")
-                .body(res);
+    // Variantes de couverture (thumbnail, card, full): sans jeton pour les balises <img>,
+    // mais v (préfixe du hash du contenu, fourni dans coverImageUrls) est exigé
+    @RequestMapping(value = "/{id}/cover/{variant}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadCoverVariant(@PathVariable Long id,
+                                     @PathVariable String variant,
+                                     @RequestParam(name = "v", required = false) String version,
+                                     HttpServletRequest request,
+                                     HttpServletResponse response) throws IOException {
+        CoverVariant coverVariant = CoverVariant.fromSegment(variant);
+        if (coverVariant == null || !attachmentStreamingService.streamCoverVariant(id, coverVariant, version, request, response)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
     }
 }
@@ -3,8 +3,12 @@ package com.example.ideaservice.Controller;
 import com.example.ideaservice.Exceptions.ResourceNotFoundException;
 import com.example.ideaservice.Model.Dto.IdeaCreateRequest;
 import com.example.ideaservice.Model.Dto.IdeaDTO;
+import com.example.ideaservice.Model.Dto.IdeaOwner;
 import com.example.ideaservice.Model.Dto.IdeaUpdateRequest;
+import com.example.ideaservice.Model.Dto.page.CursorPage;
+import com.example.ideaservice.Service.IdeaJsonStreamReader;
 import com.example.ideaservice.Service.IdeaServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,6 +16,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -22,7 +27,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -31,25 +38,42 @@ import java.util.List;
 @Tag(name = "Idea Crud Operations", description = "APIs pour les opérations CRUD des idées")
 
 public class IdeaCrudController {
+    private static final int MAX_OWNER_BATCH = 500;
+
     private final IdeaServiceImpl ideaService;
+    private final IdeaJsonStreamReader ideaJsonStreamReader;
 
     @PostMapping
-    @Operation(summary = "Créer une nouvelle idée", description = "Permet de créer une nouvelle idée en brouillon (org-scopée)")
+    @Operation(summary = "Créer une nouvelle idée", description = "Permet de créer une nouvelle idée en brouillon (org-scopée). Les fichiers Base64 (sans préfixe data:) sont décodés en flux",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = IdeaCreateRequest.class))))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Idée créée avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = IdeaDTO.class))),
             @ApiResponse(responseCode = "400", description = "Données invalides", content = @Content),
-            @ApiResponse(responseCode = "401", description = "En-têtes manquants", content = @Content)
+            @ApiResponse(responseCode = "401", description = "En-têtes manquants", content = @Content),
+            @ApiResponse(responseCode = "413", description = "Fichier ou requête trop volumineux", content = @Content)
     })
     public ResponseEntity<IdeaDTO> createIdea(
-            @Valid @RequestBody IdeaCreateRequest request,
+            HttpServletRequest httpRequest,
             @RequestHeader(value = "X-User-Id", required = false) Long userId,
-            @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) {
+            @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) throws IOException {
         if (userId == null || orgId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        IdeaDTO createdIdea = ideaService.createIdea(request, userId, orgId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdIdea);
+        // Corps lu en flux: les fichiers Base64 sont décodés directement sur disque
+        IdeaJsonStreamReader.StreamedIdea streamed;
+        try {
+            streamed = ideaJsonStreamReader.read(httpRequest.getInputStream());
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid idea payload: " + e.getOriginalMessage());
+        }
+        try {
+            IdeaDTO createdIdea = ideaService.createIdeaStreamed(streamed, userId, orgId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdIdea);
+        } finally {
+            ideaJsonStreamReader.discard(streamed);
+        }
     }
 
     @PostMapping(path = "/multipart", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -91,24 +115,63 @@ public class IdeaCrudController {
         return ResponseEntity.ok(ideaService.getIdeaById(id));
     }
 
+    @GetMapping("/{id}/owner")
+    @Operation(summary = "Propriétaire d'une idée", description = "Retourne uniquement id, creatorId et organizationId (appels inter-services)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Idée trouvée",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = IdeaOwner.class))),
+            @ApiResponse(responseCode = "404", description = "Idée non trouvée", content = @Content)
+    })
+    public ResponseEntity<IdeaOwner> getIdeaOwner(
+            @Parameter(description = "ID de l'idée", required = true, example = "1")
+            @PathVariable Long id) throws ResourceNotFoundException {
+        return ResponseEntity.ok(ideaService.getIdeaOwner(id));
+    }
+
+    @GetMapping("/owners")
+    @Operation(summary = "Propriétaires de plusieurs idées", description = "Version groupée de /{id}/owner (max 500 ids); les idées inconnues sont absentes")
+    public ResponseEntity<List<IdeaOwner>> getIdeaOwners(
+            @Parameter(description = "IDs des idées", required = true, example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        if (ids.size() > MAX_OWNER_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ideaService.getIdeaOwners(ids));
+    }
+
     @GetMapping
-    @Operation(summary = "Récupérer toutes les idées (org)", description = "Retourne les idées de l'organisation courante")
+    @Operation(summary = "Récupérer toutes les idées (org)", description = "Retourne une page des idées de l'organisation courante (plus récentes d'abord); la page suivante est indiquée par l'en-tête X-Next-Cursor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Liste des idées récupérée avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = List.class))),
             @ApiResponse(responseCode = "401", description = "En-têtes manquants", content = @Content)
     })
     public ResponseEntity<List<IdeaDTO>> getAllIdeas(
+            @Parameter(description = "Curseur opaque renvoyé dans l'en-tête X-Next-Cursor de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Compatibilité: retourne toute la liste sans pagination")
+            @RequestParam(defaultValue = "false") boolean unpaged,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) {
         if (orgId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(ideaService.getAllIdeasByOrg(orgId));
+        if (unpaged) {
+            return ResponseEntity.ok(ideaService.getAllIdeasByOrg(orgId));
+        }
+        return pageResponse(ideaService.getAllIdeasByOrg(orgId, cursor, limit));
     }
 
     @GetMapping("/me")
     @Operation(summary = "Mes idées dans l'org courante", description = "Retourne les idées du user courant filtrées par org si fournie")
     public ResponseEntity<List<IdeaDTO>> getMyIdeas(
+            @Parameter(description = "Curseur opaque renvoyé dans l'en-tête X-Next-Cursor de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Compatibilité: retourne toute la liste sans pagination")
+            @RequestParam(defaultValue = "false") boolean unpaged,
             @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) {
         if (currentUserId == null) {
@@ -118,18 +181,30 @@ public class IdeaCrudController {
             // fallback sans org: idées du user toutes orgs confondues
             return ResponseEntity.ok(ideaService.getIdeasByCreator(currentUserId));
         }
-        return ResponseEntity.ok(ideaService.getIdeasByCreatorAndOrg(currentUserId, orgId));
+        if (unpaged) {
+            return ResponseEntity.ok(ideaService.getIdeasByCreatorAndOrg(currentUserId, orgId));
+        }
+        return pageResponse(ideaService.getIdeasByCreatorAndOrg(currentUserId, orgId, cursor, limit));
     }
 
     @GetMapping("/byUser/{userId}")
     @Operation(summary = "Idées d'un utilisateur dans l'org courante", description = "Retourne les idées d'un user dans l'org courante")
     public ResponseEntity<List<IdeaDTO>> getIdeasByUserInOrg(
             @PathVariable Long userId,
+            @Parameter(description = "Curseur opaque renvoyé dans l'en-tête X-Next-Cursor de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Compatibilité: retourne toute la liste sans pagination")
+            @RequestParam(defaultValue = "false") boolean unpaged,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) {
         if (orgId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(ideaService.getIdeasByCreatorAndOrg(userId, orgId));
+        if (unpaged) {
+            return ResponseEntity.ok(ideaService.getIdeasByCreatorAndOrg(userId, orgId));
+        }
+        return pageResponse(ideaService.getIdeasByCreatorAndOrg(userId, orgId, cursor, limit));
     }
 
     @PutMapping("/{id}")
@@ -189,4 +264,12 @@ public class IdeaCrudController {
         ideaService.updateVoteCount(id, voteCount);
         return ResponseEntity.ok().build();
     }
+
+    private ResponseEntity<List<IdeaDTO>> pageResponse(CursorPage<IdeaDTO> page) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
 }
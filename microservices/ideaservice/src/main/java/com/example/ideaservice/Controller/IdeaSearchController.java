@@ -1,6 +1,7 @@
 package com.example.ideaservice.Controller;
 
 import com.example.ideaservice.Model.Dto.IdeaDTO;
+import com.example.ideaservice.Model.Dto.page.CursorPage;
 import com.example.ideaservice.Model.enums.IdeaStatus;
 import com.example.ideaservice.Service.IdeaServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,7 +25,7 @@ public class IdeaSearchController {
     private final IdeaServiceImpl ideaService;
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "Récupérer les idées par statut", description = "Retourne une liste paginée des idées ayant un statut spécifique")
+    @Operation(summary = "Récupérer les idées par statut", description = "Retourne une page des idées ayant un statut spécifique (plus récentes d'abord); la page suivante est indiquée par l'en-tête X-Next-Cursor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Idées récupérées avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = List.class)))
@@ -32,11 +33,20 @@ public class IdeaSearchController {
     public ResponseEntity<List<IdeaDTO>> getIdeasByStatus(
             @Parameter(description = "Statut des idées", required = true, example = "SUBMITTED")
             @PathVariable IdeaStatus status,
+            @Parameter(description = "Curseur opaque renvoyé dans l'en-tête X-Next-Cursor de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Compatibilité: retourne toute la liste sans pagination")
+            @RequestParam(defaultValue = "false") boolean unpaged,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) {
         if (orgId == null) {
             return ResponseEntity.status(org.springframework.http.HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(ideaService.getIdeasByStatusInOrg(status, orgId));
+        if (unpaged) {
+            return ResponseEntity.ok(ideaService.getIdeasByStatusInOrg(status, orgId));
+        }
+        return pageResponse(ideaService.getIdeasByStatusInOrg(status, orgId, cursor, limit));
     }
 
     @GetMapping("/creator/{creatorId}")
@@ -49,11 +59,20 @@ public class IdeaSearchController {
     public ResponseEntity<List<IdeaDTO>> getIdeasByCreator(
             @Parameter(description = "ID du créateur", required = true, example = "1")
             @PathVariable Long creatorId,
+            @Parameter(description = "Curseur opaque renvoyé dans l'en-tête X-Next-Cursor de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Compatibilité: retourne toute la liste sans pagination")
+            @RequestParam(defaultValue = "false") boolean unpaged,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId) {
         if (orgId == null) {
             return ResponseEntity.status(org.springframework.http.HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(ideaService.getIdeasByCreatorAndOrg(creatorId, orgId));
+        if (unpaged) {
+            return ResponseEntity.ok(ideaService.getIdeasByCreatorAndOrg(creatorId, orgId));
+        }
+        return pageResponse(ideaService.getIdeasByCreatorAndOrg(creatorId, orgId, cursor, limit));
     }
 
     @GetMapping("/organization/{organizationId}")
@@ -64,13 +83,24 @@ public class IdeaSearchController {
     })
     public ResponseEntity<List<IdeaDTO>> getIdeasByOrganization(
             @Parameter(description = "ID de l'organisation", required = true, example = "1")
-            @PathVariable Long organizationId) {
+            @PathVariable Long organizationId,
+            @Parameter(description = "Curseur opaque renvoyé dans l'en-tête X-Next-Cursor de la page précédente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 200)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Compatibilité: retourne toute la liste sans pagination")
+            @RequestParam(defaultValue = "false") boolean unpaged) {
         // Optionnel: garder pour compat rétro; sinon, on pourrait imposer que organizationId == X-Tenant-Id
-        return ResponseEntity.ok(ideaService.getIdeasByOrganization(organizationId));
+        if (unpaged) {
+            return ResponseEntity.ok(ideaService.getIdeasByOrganization(organizationId));
+        }
+        return pageResponse(ideaService.getIdeasByOrganization(organizationId, cursor, limit));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Rechercher des idées (org)", description = "Recherche des idées par mot-clé dans l'organisation courante")
+    @Operation(summary = "Rechercher des idées (org)", description = "Recherche des idées par mot-clé dans l'organisation courante, triées par pertinence. "
+            + "Chaque mot du mot-clé doit apparaître (même au milieu d'un mot, sans tenir compte des accents ni de la casse) "
+            + "dans le titre ou la description; les mots vides sont ignorés. Sans 'size', tous les résultats sont retournés")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recherche effectuée avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = List.class))),
@@ -79,11 +109,21 @@ public class IdeaSearchController {
     public ResponseEntity<List<IdeaDTO>> searchIdeas(
             @Parameter(description = "Mot-clé de recherche", required = true, example = "innovation")
             @RequestParam String keyword,
+            @Parameter(description = "Numéro de page (à partir de 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page", example = "20")
+            @RequestParam(required = false) Integer size,
             @RequestHeader(value = "X-Tenant-Id", required = false) Long orgId){
         if (orgId == null) {
             return ResponseEntity.status(org.springframework.http.HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(ideaService.searchIdeasInOrg(keyword, orgId));
+        if (size == null) {
+            return ResponseEntity.ok(ideaService.searchIdeasInOrg(keyword, orgId));
+        }
+        if (page < 0 || size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ideaService.searchIdeasInOrg(keyword, orgId, page, size));
     }
 
     @GetMapping("/top10")
@@ -100,4 +140,12 @@ public class IdeaSearchController {
         }
         return ResponseEntity.ok(ideaService.getTop10IdeasInOrg(orgId));
     }
+
+    private ResponseEntity<List<IdeaDTO>> pageResponse(CursorPage<IdeaDTO> page) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
 }
@@ -3,9 +3,11 @@ package com.example.ideaservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.example.ideaservice.client")
+@EnableScheduling
 public class IdeaserviceApplication {
 
     public static void main(String[] args) {
@@ -1,5 +1,7 @@
 package com.example.ideaservice.Model.Dto;
 
+import com.example.ideaservice.Model.enums.DerivativeStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.util.Date;
@@ -19,4 +21,9 @@ public class AttachmentDTO {
     private Date uploadDate;
     private Long uploadedBy;
     private String uploadedByName;
+    // Non null pour une image de couverture (variantes PENDING / READY / FAILED)
+    private DerivativeStatus derivativeStatus;
+    // Sert à construire l'URL publique des variantes de couverture, jamais exposé tel quel
+    @JsonIgnore
+    private String contentHash;
 }
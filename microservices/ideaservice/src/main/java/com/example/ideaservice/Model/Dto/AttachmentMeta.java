@@ -0,0 +1,21 @@
+package com.example.ideaservice.Model.Dto;
+
+import com.example.ideaservice.Model.enums.DerivativeStatus;
+
+import java.util.Date;
+
+/**
+ * Métadonnées d'une pièce jointe, chargées sans la colonne {@code data}.
+ */
+public interface AttachmentMeta {
+    Long getId();
+    String getFileName();
+    String getFileType();
+    String getFilePath();
+    Long getFileSize();
+    Date getUploadDate();
+    String getContentHash();
+    Boolean getHasData();
+    DerivativeStatus getDerivativeStatus();
+    String getDerivativeType();
+}
@@ -0,0 +1,21 @@
+package com.example.ideaservice.Model.Dto;
+
+import com.example.ideaservice.Model.enums.DerivativeStatus;
+
+import java.util.Date;
+
+/**
+ * Pièce jointe telle qu'affichée dans les listes d'idées: métadonnées seules, sans la colonne {@code data}.
+ */
+public interface AttachmentSummary {
+    Long getIdeaId();
+    Long getId();
+    String getFileName();
+    String getFileType();
+    Long getFileSize();
+    String getFileUrl();
+    Date getUploadDate();
+    Long getUploadedBy();
+    DerivativeStatus getDerivativeStatus();
+    String getContentHash();
+}
@@ -0,0 +1,18 @@
+package com.example.ideaservice.Model.Dto;
+
+import lombok.*;
+
+/**
+ * URLs des variantes de la couverture. Tant qu'une variante n'est pas prête, son URL sert l'original.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoverImageUrls {
+
+    private String thumbnail;
+    private String card;
+    private String full;
+}
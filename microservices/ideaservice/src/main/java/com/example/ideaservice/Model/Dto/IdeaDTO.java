@@ -1,7 +1,6 @@
 package com.example.ideaservice.Model.Dto;
 
 
-import com.example.ideaservice.Model.entities.Attachment;
 import com.example.ideaservice.Model.enums.IdeaStatus;
 import lombok.*;
 
@@ -27,8 +26,9 @@ public class IdeaDTO {
     private Integer totalScore;
     private Boolean budgetApproved;
     private List<Long> assignedTeamIds;
-    private List<Attachment> attachments;
+    private List<AttachmentDTO> attachments;
     private Integer voteCount;
     private Boolean isInTop10;
-    private String coverImageUrl; // URL de l'image de couverture
+    private String coverImageUrl; // URL de l'image de couverture (originale)
+    private CoverImageUrls coverImageUrls; // Variantes redimensionnées: thumbnail, card, full
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.ideaservice.Model.Dto;
+
+/**
+ * Propriétaire et organisation d'une idée: tout ce dont voteservice et bookmarkservice ont besoin.
+ */
+public interface IdeaOwner {
+    Long getId();
+    Long getCreatorId();
+    Long getOrganizationId();
+}
@@ -0,0 +1,8 @@
+package com.example.ideaservice.Model.Dto;
+
+/**
+ * Changement de votes reçu de voteservice (+1 / -1), avec l'offset du message dans sa partition.
+ * Les messages d'une idée sont tous sur la même partition: l'offset croît par idée et repère les rejeux.
+ */
+public record VoteCountUpdate(long offset, int delta) {
+}
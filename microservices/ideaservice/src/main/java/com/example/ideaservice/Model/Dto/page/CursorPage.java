@@ -0,0 +1,19 @@
+package com.example.ideaservice.Model.Dto.page;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    // En-tête portant le curseur de la page suivante (le corps reste une liste JSON)
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> items;
+    // null quand il n'y a plus de page suivante
+    private String nextCursor;
+}
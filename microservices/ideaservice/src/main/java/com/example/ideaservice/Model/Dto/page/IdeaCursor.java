@@ -0,0 +1,35 @@
+package com.example.ideaservice.Model.Dto.page;
+
+import com.example.ideaservice.Model.entities.Idea;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans un listing trié par (creationDate DESC, id DESC), sérialisée en un jeton opaque.
+ */
+public record IdeaCursor(LocalDateTime creationDate, Long id) {
+
+    public static IdeaCursor of(Idea idea) {
+        return new IdeaCursor(idea.getCreationDate(), idea.getId());
+    }
+
+    public String encode() {
+        String raw = creationDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static IdeaCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new IdeaCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ideaservice.Model.entities;
 
+import com.example.ideaservice.Model.enums.DerivativeStatus;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -7,7 +8,10 @@ import lombok.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "attachments")
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_attachments_derivative_status", columnList = "derivative_status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +37,19 @@ public class Attachment {
     // Absolute path on the server filesystem
     private String filePath;
 
+    // SHA-256 of the content when stored in the content-addressed blob store
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Resized cover variants (card, thumbnail, full); null when the attachment is not a cover
+    @Enumerated(EnumType.STRING)
+    @Column(name = "derivative_status", length = 16)
+    private DerivativeStatus derivativeStatus;
+
+    // Content type of the variants: image/jpeg, or image/png when the cover has transparency
+    @Column(name = "derivative_type", length = 32)
+    private String derivativeType;
+
     private String fileUrl;
     private Long fileSize;
     private Date uploadDate;
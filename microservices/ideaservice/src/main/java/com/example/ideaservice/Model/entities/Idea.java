@@ -11,7 +11,11 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "ideas")
+@Table(name = "ideas", indexes = {
+        @Index(name = "idx_ideas_org_created", columnList = "organization_id, creation_date, id"),
+        @Index(name = "idx_ideas_org_status_created", columnList = "organization_id, status, creation_date, id"),
+        @Index(name = "idx_ideas_org_creator_created", columnList = "organization_id, creator_id, creation_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,6 +42,8 @@ public class Idea {
     private List<Attachment> attachments = new ArrayList<>();
     // vote_count field in database - stores the total number of votes (likes) for this idea
     private Integer voteCount;
+    // offset Kafka du dernier changement de votes appliqué: un message rejoué n'est pas recompté
+    private Long voteCountOffset;
     private Boolean isInTop10;
     public void addTeamMember(Long userId) {
         if (!this.assignedTeamIds.contains(userId)) {
@@ -0,0 +1,34 @@
+package com.example.ideaservice.Model.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fichier stocké une seule fois sous son SHA-256, partagé par toutes les pièces jointes de même contenu.
+ */
+@Entity
+@Table(name = "stored_blobs", indexes = {
+        @Index(name = "idx_stored_blobs_refcount", columnList = "ref_count, updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private Long size;
+
+    // Nombre de lignes Attachment pointant vers ce blob
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
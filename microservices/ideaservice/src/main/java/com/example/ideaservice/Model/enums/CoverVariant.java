@@ -0,0 +1,36 @@
+package com.example.ideaservice.Model.enums;
+
+/**
+ * Variantes redimensionnées d'une image de couverture, de la plus grande à la plus petite.
+ * {@code maxSize}: côté le plus long, en pixels.
+ */
+public enum CoverVariant {
+    FULL("full", 1920),
+    CARD("card", 640),
+    THUMBNAIL("thumbnail", 240);
+
+    private final String segment;
+    private final int maxSize;
+
+    CoverVariant(String segment, int maxSize) {
+        this.segment = segment;
+        this.maxSize = maxSize;
+    }
+
+    public String segment() {
+        return segment;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public static CoverVariant fromSegment(String segment) {
+        for (CoverVariant variant : values()) {
+            if (variant.segment.equalsIgnoreCase(segment)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
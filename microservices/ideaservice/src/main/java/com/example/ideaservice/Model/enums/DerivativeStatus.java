@@ -0,0 +1,7 @@
+package com.example.ideaservice.Model.enums;
+
+public enum DerivativeStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -1,7 +1,48 @@
 package com.example.ideaservice.Repository;
 
+import com.example.ideaservice.Model.Dto.AttachmentMeta;
+import com.example.ideaservice.Model.Dto.AttachmentSummary;
 import com.example.ideaservice.Model.entities.Attachment;
+import com.example.ideaservice.Model.enums.DerivativeStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 public interface AttachementRepository extends JpaRepository<Attachment, Long> {
+
+    @Query("SELECT a.id AS id, a.fileName AS fileName, a.fileType AS fileType, a.filePath AS filePath, " +
+            "a.fileSize AS fileSize, a.uploadDate AS uploadDate, a.contentHash AS contentHash, " +
+            "CASE WHEN a.data IS NULL THEN false ELSE true END AS hasData, " +
+            "a.derivativeStatus AS derivativeStatus, a.derivativeType AS derivativeType " +
+            "FROM Attachment a WHERE a.id = :id")
+    Optional<AttachmentMeta> findMetaById(@Param("id") Long id);
+
+    // Une seule requête pour toutes les idées d'une liste (évite le N+1 sur idea.getAttachments())
+    @Query("SELECT a.idea.id AS ideaId, a.id AS id, a.fileName AS fileName, a.fileType AS fileType, " +
+            "a.fileSize AS fileSize, a.fileUrl AS fileUrl, a.uploadDate AS uploadDate, a.uploadedBy AS uploadedBy, " +
+            "a.derivativeStatus AS derivativeStatus, a.contentHash AS contentHash " +
+            "FROM Attachment a WHERE a.idea.id IN :ideaIds ORDER BY a.id")
+    List<AttachmentSummary> findSummariesByIdeaIds(@Param("ideaIds") Collection<Long> ideaIds);
+
+    long countByContentHash(String contentHash);
+
+    @Query("SELECT a.data FROM Attachment a WHERE a.id = :id")
+    Optional<byte[]> findDataById(@Param("id") Long id);
+
+    // Couvertures dont les variantes n'ont pas été produites (file pleine, redémarrage)
+    @Query("SELECT a.id FROM Attachment a WHERE a.derivativeStatus = :status AND a.uploadDate < :before ORDER BY a.id")
+    List<Long> findIdsByDerivativeStatus(@Param("status") DerivativeStatus status, @Param("before") Date before, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Attachment a SET a.derivativeStatus = :status, a.derivativeType = :type WHERE a.id = :id")
+    int updateDerivatives(@Param("id") Long id, @Param("status") DerivativeStatus status, @Param("type") String type);
 }
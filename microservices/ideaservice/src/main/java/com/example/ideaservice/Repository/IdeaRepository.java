@@ -1,15 +1,23 @@
 package com.example.ideaservice.Repository;
 
+import com.example.ideaservice.Model.Dto.IdeaOwner;
 import com.example.ideaservice.Model.entities.Idea;
 import com.example.ideaservice.Model.enums.IdeaStatus;
+import com.example.ideaservice.leaderboard.RankedIdea;
+import com.example.ideaservice.search.IndexableIdea;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IdeaRepository extends JpaRepository<Idea, Long> {
@@ -22,21 +30,74 @@ public interface IdeaRepository extends JpaRepository<Idea, Long> {
     List<Idea> findByCreatorIdAndOrganizationId(Long creatorId, Long organizationId);
     List<Idea> findByStatusAndOrganizationId(IdeaStatus status, Long organizationId);
 
+    // Keyset pagination on (creationDate DESC, id DESC): first page, then "after cursor" pages (never OFFSET)
+    List<Idea> findByOrganizationIdOrderByCreationDateDescIdDesc(Long organizationId, Limit limit);
+
+    @Query("SELECT i FROM Idea i WHERE i.organizationId = :orgId " +
+            "AND (i.creationDate < :beforeDate OR (i.creationDate = :beforeDate AND i.id < :beforeId)) " +
+            "ORDER BY i.creationDate DESC, i.id DESC")
+    List<Idea> findPageInOrgAfter(@Param("orgId") Long orgId,
+                                  @Param("beforeDate") LocalDateTime beforeDate,
+                                  @Param("beforeId") Long beforeId,
+                                  Limit limit);
+
+    List<Idea> findByStatusAndOrganizationIdOrderByCreationDateDescIdDesc(IdeaStatus status, Long organizationId, Limit limit);
+
+    @Query("SELECT i FROM Idea i WHERE i.organizationId = :orgId AND i.status = :status " +
+            "AND (i.creationDate < :beforeDate OR (i.creationDate = :beforeDate AND i.id < :beforeId)) " +
+            "ORDER BY i.creationDate DESC, i.id DESC")
+    List<Idea> findPageByStatusInOrgAfter(@Param("status") IdeaStatus status,
+                                          @Param("orgId") Long orgId,
+                                          @Param("beforeDate") LocalDateTime beforeDate,
+                                          @Param("beforeId") Long beforeId,
+                                          Limit limit);
+
+    List<Idea> findByCreatorIdAndOrganizationIdOrderByCreationDateDescIdDesc(Long creatorId, Long organizationId, Limit limit);
+
+    @Query("SELECT i FROM Idea i WHERE i.organizationId = :orgId AND i.creatorId = :creatorId " +
+            "AND (i.creationDate < :beforeDate OR (i.creationDate = :beforeDate AND i.id < :beforeId)) " +
+            "ORDER BY i.creationDate DESC, i.id DESC")
+    List<Idea> findPageByCreatorInOrgAfter(@Param("creatorId") Long creatorId,
+                                           @Param("orgId") Long orgId,
+                                           @Param("beforeDate") LocalDateTime beforeDate,
+                                           @Param("beforeId") Long beforeId,
+                                           Limit limit);
+
     @Query("SELECT i FROM Idea i WHERE i.organizationId = :orgId AND (" +
             "LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Idea> searchByKeywordInOrg(@Param("keyword") String keyword, @Param("orgId") Long orgId);
 
+    @Query("SELECT i.id AS id, i.organizationId AS organizationId, i.title AS title, i.description AS description FROM Idea i")
+    List<IndexableIdea> findAllForSearchIndex();
+
     @Query("SELECT i FROM Idea i WHERE i.totalScore >= :minScore AND i.organizationId = :orgId ORDER BY i.totalScore DESC")
     List<Idea> findIdeasWithMinScoreInOrg(@Param("minScore") Integer minScore, @Param("orgId") Long orgId);
 
     @Query("SELECT i FROM Idea i WHERE i.organizationId = :orgId ORDER BY i.totalScore DESC")
     Page<Idea> findTopIdeasInOrg(@Param("orgId") Long orgId, Pageable pageable);
 
+    @Query("SELECT i.id AS id, i.organizationId AS organizationId, i.totalScore AS totalScore, i.voteCount AS voteCount FROM Idea i")
+    List<RankedIdea> findAllForLeaderboard();
+
+    @Modifying
+    @Query("UPDATE Idea i SET i.isInTop10 = :inTop WHERE i.id IN :ids")
+    int updateTop10Flag(@Param("ids") Collection<Long> ids, @Param("inTop") boolean inTop);
+
+    @Modifying
+    @Query("UPDATE Idea i SET i.isInTop10 = false WHERE i.isInTop10 = true AND i.id NOT IN :ids")
+    int clearTop10FlagExcept(@Param("ids") Collection<Long> ids);
+
     Long countByStatus(IdeaStatus status);
 
     Long countByCreatorId(Long creatorId);
 
     @Query("SELECT i FROM Idea i WHERE i.status = :status AND i.budgetApproved = true")
     Page<Idea> findApprovedIdeasWithBudget(@Param("status") IdeaStatus status, Pageable pageable);
+
+    @Query("SELECT i.id AS id, i.creatorId AS creatorId, i.organizationId AS organizationId FROM Idea i WHERE i.id = :id")
+    Optional<IdeaOwner> findOwnerById(@Param("id") Long id);
+
+    @Query("SELECT i.id AS id, i.creatorId AS creatorId, i.organizationId AS organizationId FROM Idea i WHERE i.id IN :ids")
+    List<IdeaOwner> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,50 @@
+package com.example.ideaservice.Repository;
+
+import com.example.ideaservice.Model.entities.StoredBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // Dans la transaction appelante: annulée avec elle, et la ligne reste verrouillée (GC écarté) jusqu'au commit
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (hash, size, ref_count, updated_at) VALUES (:hash, :size, 1, NOW()) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW()", nativeQuery = true)
+    int acquireReference(@Param("hash") String hash, @Param("size") long size);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE stored_blobs SET ref_count = ref_count - 1, updated_at = NOW() " +
+            "WHERE hash = :hash AND ref_count > 0", nativeQuery = true)
+    int releaseReference(@Param("hash") String hash);
+
+    // Verrou tenu jusqu'à la suppression du fichier: un acquireReference concurrent attend la fin du GC
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlob b WHERE b.hash = :hash")
+    Optional<StoredBlob> lockByHash(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM stored_blobs WHERE hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE stored_blobs SET ref_count = :refCount, updated_at = NOW() WHERE hash = :hash", nativeQuery = true)
+    int repairReferenceCount(@Param("hash") String hash, @Param("refCount") int refCount);
+
+    List<StoredBlob> findByRefCountLessThanEqualAndUpdatedAtBefore(Integer refCount, LocalDateTime before, Limit limit);
+}
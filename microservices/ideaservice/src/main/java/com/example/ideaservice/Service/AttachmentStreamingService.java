@@ -0,0 +1,258 @@
+package com.example.ideaservice.Service;
+
+import com.example.ideaservice.Model.Dto.AttachmentMeta;
+import com.example.ideaservice.Model.enums.CoverVariant;
+import com.example.ideaservice.Model.enums.DerivativeStatus;
+import com.example.ideaservice.Repository.AttachementRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sert le contenu des pièces jointes sans jamais le charger entièrement en mémoire.
+ * Fichiers: sendfile Tomcat si disponible, sinon {@link FileChannel#transferTo}.
+ * Blobs en base: lecture JDBC par tranches bornées ({@code SUBSTRING}), chacune sur une connexion rendue avant l'écriture.
+ * Gère Range / 206, ETag, Last-Modified et les requêtes conditionnelles.
+ * Les variantes de couverture sont des fichiers servis de la même façon.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentStreamingService {
+
+    // Mémoire bornée par téléchargement servi depuis la base
+    private static final int BLOB_CHUNK_SIZE = 256 * 1024;
+    private static final int MIN_COVER_VERSION_LENGTH = 16;
+    // En dessous de ce seuil, une copie classique coûte moins cher qu'un sendfile
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachementRepository attachementRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CoverDerivativeService coverDerivativeService;
+
+    /**
+     * @return false si la pièce jointe ou son contenu n'existe pas (l'appelant répond 404)
+     */
+    public boolean stream(Long id, boolean inline, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        return stream(id, inline, "private, max-age=86400", request, response);
+    }
+
+    /**
+     * Sert une variante de couverture; tant qu'elle n'existe pas (en cours, ou image non décodable),
+     * l'original est servi sans cache durable pour que la variante soit récupérée dès qu'elle est prête.
+     */
+    public boolean streamCoverVariant(Long id, CoverVariant variant, String version,
+                                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentMeta meta = attachementRepository.findMetaById(id).orElse(null);
+        if (meta == null) {
+            log.warn("Attachment not found with ID: {}", id);
+            return false;
+        }
+        // Endpoint public: seules les couvertures y sont servies, jamais les autres pièces jointes
+        if (meta.getDerivativeStatus() == null) {
+            return false;
+        }
+        // Requêtes anonymes: v doit être le préfixe du hash du contenu, connu seulement de qui a vu l'idée.
+        // Un id séquentiel ne suffit pas à énumérer les couvertures des autres organisations
+        if (!matchesVersion(meta.getContentHash(), version)) {
+            log.debug("Cover {} requested without a matching version", id);
+            return false;
+        }
+        Path file = meta.getDerivativeStatus() == DerivativeStatus.READY
+                ? coverDerivativeService.pathFor(id, variant, meta.getDerivativeType())
+                : null;
+        if (file == null || !Files.isReadable(file)) {
+            // PENDING ou FAILED: l'original de la couverture
+            return stream(id, true, "no-cache", request, response);
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000;
+        String etag = "\"" + id + "-" + variant.segment() + "-" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        String filename = "cover-" + id + "-" + variant.segment() + ImageTypes.extension(meta.getDerivativeType());
+        // Une variante ne change jamais pour une pièce jointe donnée
+        return serve(id, file, length, lastModified, etag, meta.getDerivativeType(), filename, true,
+                "public, max-age=31536000, immutable", request, response);
+    }
+
+    static boolean matchesVersion(String contentHash, String version) {
+        return contentHash != null && version != null
+                && version.length() >= MIN_COVER_VERSION_LENGTH && contentHash.startsWith(version);
+    }
+
+    private boolean stream(Long id, boolean inline, String cacheControl,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentMeta meta = attachementRepository.findMetaById(id).orElse(null);
+        if (meta == null) {
+            log.warn("Attachment not found with ID: {}", id);
+            return false;
+        }
+
+        Path file = meta.getFilePath() == null ? null : Paths.get(meta.getFilePath());
+        boolean fromFile = file != null && Files.isReadable(file);
+        if (!fromFile && !Boolean.TRUE.equals(meta.getHasData())) {
+            log.warn("Attachment content is missing for ID: {}", id);
+            return false;
+        }
+
+        long length;
+        long lastModified;
+        if (fromFile) {
+            length = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } else {
+            length = meta.getFileSize() != null ? meta.getFileSize() : blobLength(id);
+            lastModified = meta.getUploadDate() == null ? 0L : meta.getUploadDate().getTime();
+        }
+        // Précision HTTP: la seconde
+        lastModified = lastModified / 1000 * 1000;
+        // Le hash du contenu, quand il existe, est un ETag fort partagé par tous les doublons
+        String etag = meta.getContentHash() != null
+                ? "\"" + meta.getContentHash() + "\""
+                : "\"" + id + "-" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        String contentType = meta.getFileType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : meta.getFileType();
+        String filename = meta.getFileName() == null ? "file" : meta.getFileName();
+        return serve(id, fromFile ? file : null, length, lastModified, etag, contentType, filename, inline,
+                cacheControl, request, response);
+    }
+
+    // file null: contenu lu dans la colonne data de la pièce jointe
+    private boolean serve(Long id, Path file, long length, long lastModified, String etag,
+                          String contentType, String filename, boolean inline, String cacheControl,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return true;
+        }
+
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                (inline ? "inline" : "attachment") + "; filename=\"" + filename.replace("\"", "") + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return true;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = Math.max(0, end - start + 1);
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+            return true;
+        }
+
+        if (file != null) {
+            writeFile(file, start, count, request, response);
+        } else {
+            writeBlob(id, start, count, response.getOutputStream());
+        }
+        log.debug("Served attachment {} ({} of {} bytes, {})", id, count, length, file != null ? "file" : "blob");
+        return true;
+    }
+
+    private HttpRange singleRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            // La représentation a changé: renvoyer le contenu complet
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            // Les plages multiples (multipart/byteranges) ne sont pas servies: contenu complet
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeFile(Path file, long start, long count,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Le connecteur NIO de Tomcat envoie le fichier (zéro copie) après le retour du contrôleur
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private void writeBlob(Long id, long start, long count, OutputStream out) throws IOException {
+        long offset = start;
+        long remaining = count;
+        while (remaining > 0) {
+            int chunk = (int) Math.min(BLOB_CHUNK_SIZE, remaining);
+            // Une requête courte par tranche, hors transaction: la connexion revient au pool avant l'écriture,
+            // un client lent n'en retient aucune et le tas ne porte qu'une tranche
+            // SUBSTRING SQL: positions à partir de 1
+            byte[] data = jdbcTemplate.query("SELECT SUBSTRING(data, ?, ?) FROM attachments WHERE id = ?",
+                    (ResultSetExtractor<byte[]>) rs -> rs.next() ? rs.getBytes(1) : null,
+                    offset + 1, chunk, id);
+            if (data == null || data.length == 0) {
+                // Contenu tronqué ou supprimé entre-temps: la réponse s'arrête là
+                log.warn("Attachment {} content ended at byte {} of {}", id, offset, start + count);
+                return;
+            }
+            out.write(data);
+            offset += data.length;
+            remaining -= data.length;
+        }
+    }
+
+    private long blobLength(Long id) {
+        Long length = jdbcTemplate.queryForObject("SELECT OCTET_LENGTH(data) FROM attachments WHERE id = ?", Long.class, id);
+        return length == null ? 0L : length;
+    }
+}
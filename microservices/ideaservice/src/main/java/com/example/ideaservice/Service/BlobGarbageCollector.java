@@ -0,0 +1,69 @@
+package com.example.ideaservice.Service;
+
+import com.example.ideaservice.Model.entities.StoredBlob;
+import com.example.ideaservice.Repository.AttachementRepository;
+import com.example.ideaservice.Repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Supprime périodiquement les blobs qui ne sont plus référencés par aucune pièce jointe.
+ * Un délai de grâce évite de supprimer un blob dont la référence est en cours d'enregistrement.
+ */
+@Component
+@ConditionalOnProperty(name = "app.upload.content-addressed", havingValue = "true")
+@Slf4j
+public class BlobGarbageCollector {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final AttachementRepository attachementRepository;
+    private final FileStorageService fileStorageService;
+    private final long graceMinutes;
+
+    public BlobGarbageCollector(StoredBlobRepository storedBlobRepository,
+                                AttachementRepository attachementRepository,
+                                FileStorageService fileStorageService,
+                                @Value("${app.upload.blob-gc.grace-minutes:60}") long graceMinutes) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.attachementRepository = attachementRepository;
+        this.fileStorageService = fileStorageService;
+        this.graceMinutes = graceMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.blob-gc.interval-ms:3600000}",
+            initialDelayString = "${app.upload.blob-gc.interval-ms:3600000}")
+    public void collect() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        List<StoredBlob> candidates = storedBlobRepository
+                .findByRefCountLessThanEqualAndUpdatedAtBefore(0, cutoff, Limit.of(BATCH_SIZE));
+        int deleted = 0;
+        for (StoredBlob blob : candidates) {
+            try {
+                // Garde-fou si le compteur a dérivé: on le recale sur les lignes réellement présentes
+                long references = attachementRepository.countByContentHash(blob.getHash());
+                if (references > 0) {
+                    storedBlobRepository.repairReferenceCount(blob.getHash(), (int) references);
+                    log.warn("Repaired reference count of blob {} to {}", blob.getHash(), references);
+                    continue;
+                }
+                if (fileStorageService.deleteBlobIfUnreferenced(blob.getHash())) {
+                    deleted++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to collect blob {}: {}", blob.getHash(), e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Blob GC removed {} unreferenced blobs", deleted);
+        }
+    }
+}
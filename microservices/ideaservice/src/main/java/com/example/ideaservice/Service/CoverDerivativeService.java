@@ -0,0 +1,250 @@
+package com.example.ideaservice.Service;
+
+import com.example.ideaservice.Model.Dto.AttachmentMeta;
+import com.example.ideaservice.Model.enums.CoverVariant;
+import com.example.ideaservice.Model.enums.DerivativeStatus;
+import com.example.ideaservice.Repository.AttachementRepository;
+import com.example.images.ImageResizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Produit en arrière-plan les variantes d'une image de couverture (full, card, thumbnail),
+ * redimensionnées et recompressées, rangées sous {@code uploads/derivatives/{attachmentId}/}.
+ * Le traitement part après le commit de l'upload sur un pool borné; ce qui n'a pas pu être
+ * mis en file (file pleine, redémarrage) est repris par un balayage périodique des couvertures PENDING.
+ */
+@Service
+@Slf4j
+public class CoverDerivativeService {
+
+    private final AttachementRepository attachementRepository;
+    private final Path derivativesDir;
+    private final ThreadPoolExecutor executor;
+    // Évite de traiter deux fois la même couverture sur cette instance (upload + balayage)
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final int sweepBatchSize;
+    private final long sweepGraceMs;
+
+    private final Timer generationTimer;
+    private final Counter failures;
+
+    public CoverDerivativeService(AttachementRepository attachementRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.upload.dir:uploads}") String uploadDir,
+                                  @Value("${app.covers.derivatives.pool-size:2}") int poolSize,
+                                  @Value("${app.covers.derivatives.queue-capacity:100}") int queueCapacity,
+                                  @Value("${app.covers.derivatives.max-pixels:50000000}") long maxPixels,
+                                  @Value("${app.covers.derivatives.jpeg-quality:0.8}") float jpegQuality,
+                                  @Value("${app.covers.derivatives.sweep-batch-size:50}") int sweepBatchSize,
+                                  @Value("${app.covers.derivatives.sweep-grace-ms:60000}") long sweepGraceMs) {
+        this.attachementRepository = attachementRepository;
+        this.derivativesDir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve("derivatives");
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        this.sweepBatchSize = sweepBatchSize;
+        this.sweepGraceMs = sweepGraceMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cover-derivatives-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Le redimensionnement ne doit pas concurrencer les threads de requêtes
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.generationTimer = Timer.builder("covers.derivatives.duration")
+                .description("Time to decode a cover and write all its variants")
+                .register(meterRegistry);
+        this.failures = Counter.builder("covers.derivatives.failed")
+                .description("Covers whose variants could not be produced (served from the original)")
+                .register(meterRegistry);
+        Gauge.builder("covers.derivatives.queue", executor, e -> e.getQueue().size())
+                .description("Covers waiting for a derivative worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Demande la production des variantes une fois la transaction courante validée
+     * (la ligne Attachment et le fichier original sont alors visibles par les workers).
+     */
+    public void generateAfterCommit(Long attachmentId) {
+        afterCommit(() -> submit(attachmentId));
+    }
+
+    /**
+     * Supprime les variantes d'une pièce jointe après le commit de sa suppression.
+     */
+    public void deleteAfterCommit(Long attachmentId) {
+        afterCommit(() -> deleteVariants(attachmentId));
+    }
+
+    public Path pathFor(Long attachmentId, CoverVariant variant, String contentType) {
+        return derivativesDir.resolve(String.valueOf(attachmentId))
+                .resolve(variant.segment() + ImageTypes.extension(contentType));
+    }
+
+    @Scheduled(fixedDelayString = "${app.covers.derivatives.sweep-interval-ms:60000}",
+            initialDelayString = "${app.covers.derivatives.sweep-interval-ms:60000}")
+    public void sweepPending() {
+        Date before = new Date(System.currentTimeMillis() - sweepGraceMs);
+        List<Long> pending = attachementRepository.findIdsByDerivativeStatus(
+                DerivativeStatus.PENDING, before, Limit.of(sweepBatchSize));
+        if (!pending.isEmpty()) {
+            log.info("Resubmitting {} covers with pending derivatives", pending.size());
+            pending.forEach(this::submit);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long attachmentId) {
+        if (!inFlight.add(attachmentId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(attachmentId);
+                } finally {
+                    inFlight.remove(attachmentId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(attachmentId);
+            log.debug("Derivative queue full, cover {} left for the next sweep", attachmentId);
+        }
+    }
+
+    private void generate(Long attachmentId) {
+        AttachmentMeta meta = attachementRepository.findMetaById(attachmentId).orElse(null);
+        if (meta == null || meta.getDerivativeStatus() != DerivativeStatus.PENDING) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            BufferedImage current = decode(meta);
+            boolean alpha = ImageResizer.hasAlpha(current);
+            String type = ImageResizer.contentType(alpha);
+            Files.createDirectories(derivativesDir.resolve(String.valueOf(attachmentId)));
+            // Du plus grand au plus petit: chaque variante est réduite à partir de la précédente
+            for (CoverVariant variant : CoverVariant.values()) {
+                current = ImageResizer.fit(current, variant.maxSize(), alpha);
+                write(current, alpha, pathFor(attachmentId, variant, type));
+            }
+            attachementRepository.updateDerivatives(attachmentId, DerivativeStatus.READY, type);
+            log.debug("Cover {} variants written ({})", attachmentId, type);
+        } catch (Exception e) {
+            // Image illisible ou format non géré: l'original reste servi pour toutes les variantes
+            failures.increment();
+            attachementRepository.updateDerivatives(attachmentId, DerivativeStatus.FAILED, null);
+            log.warn("Could not produce variants for cover {}: {}", attachmentId, e.getMessage());
+        } finally {
+            sample.stop(generationTimer);
+        }
+    }
+
+    private BufferedImage decode(AttachmentMeta meta) throws IOException {
+        Path file = meta.getFilePath() == null ? null : Paths.get(meta.getFilePath());
+        Object source;
+        if (file != null && Files.isReadable(file)) {
+            source = file.toFile();
+        } else {
+            byte[] data = attachementRepository.findDataById(meta.getId())
+                    .orElseThrow(() -> new IOException("Cover content is missing"));
+            source = new ByteArrayInputStream(data);
+        }
+        return ImageResizer.decode(source, maxPixels);
+    }
+
+    // Écriture dans un fichier temporaire puis renommage: un lecteur ne voit jamais une variante partielle
+    private void write(BufferedImage image, boolean alpha, Path target) throws IOException {
+        Path partial = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                ImageResizer.encode(image, alpha, jpegQuality, out);
+            }
+            try {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private void deleteVariants(Long attachmentId) {
+        Path dir = derivativesDir.resolve(String.valueOf(attachmentId));
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to delete variants of attachment {}: {}", attachmentId, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.example.ideaservice.Service;
 
+import com.example.ideaservice.Model.entities.StoredBlob;
+import com.example.ideaservice.Repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
+@Slf4j
 public class FileStorageService {
 
     private final Path uploadDir;
+    private final boolean contentAddressed;
+    private final StoredBlobRepository storedBlobRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    public FileStorageService(@Value("${app.upload.dir:uploads}") String uploadDir) {
+    public FileStorageService(@Value("${app.upload.dir:uploads}") String uploadDir,
+                              @Value("${app.upload.content-addressed:false}") boolean contentAddressed,
+                              StoredBlobRepository storedBlobRepository,
+                              PlatformTransactionManager transactionManager) {
         this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.contentAddressed = contentAddressed;
+        this.storedBlobRepository = storedBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public StoredFile storeIdeaFile(Long ideaId, MultipartFile file, String subFolder) throws IOException {
@@ -28,7 +56,178 @@ public class FileStorageService {
             throw new IOException("Empty file");
         }
 
-        String originalName = StringUtils.cleanPath(file.getOriginalFilename() == null ? "file" : file.getOriginalFilename());
+        if (contentAddressed) {
+            // Premier passage en lecture seule pour le hash: un doublon ne coûte aucune écriture
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            return storeBlob(hash, file.getSize(), target -> {
+                try (InputStream in = file.getInputStream()) {
+                    Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            });
+        }
+
+        Path target = newIdeaFileTarget(ideaId, file.getOriginalFilename(), subFolder);
+        Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+
+        return new StoredFile(target.toString(), target.getFileName().toString(), null);
+    }
+
+    /**
+     * Crée un fichier temporaire dans lequel un contenu peut être écrit au fil de l'eau
+     * avant que l'idée (et donc son dossier) n'existe. Le SHA-256 est calculé pendant l'écriture.
+     */
+    public StagedFile openStaging() throws IOException {
+        Path stagingDir = uploadDir.resolve("tmp");
+        Files.createDirectories(stagingDir);
+        return new StagedFile(Files.createTempFile(stagingDir, "upload-", ".part"));
+    }
+
+    /**
+     * Déplace un fichier temporaire vers le dossier de l'idée (simple renommage sur le même disque),
+     * ou vers le blob correspondant à son hash en mode adressé par contenu.
+     */
+    public StoredFile promote(StagedFile staged, Long ideaId, String originalName, String subFolder) throws IOException {
+        if (contentAddressed) {
+            StoredFile stored = storeBlob(staged.contentHash(), staged.size(), target -> move(staged.path(), target));
+            // doublon: le fichier temporaire n'a pas été utilisé
+            discard(staged);
+            return stored;
+        }
+
+        Path target = newIdeaFileTarget(ideaId, originalName, subFolder);
+        move(staged.path(), target);
+        return new StoredFile(target.toString(), target.getFileName().toString(), null);
+    }
+
+    public void discard(StagedFile staged) {
+        if (staged == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(staged.path());
+        } catch (IOException ignored) {
+            // best effort: le dossier tmp peut être purgé manuellement
+        }
+    }
+
+    /**
+     * Retire une référence à un blob (pièce jointe supprimée). Le fichier est supprimé plus tard
+     * par {@link BlobGarbageCollector} s'il n'est plus référencé.
+     */
+    public void release(String contentHash) {
+        if (contentHash != null) {
+            storedBlobRepository.releaseReference(contentHash);
+        }
+    }
+
+    /**
+     * Supprime le blob s'il n'est toujours pas référencé. Appelé par le GC.
+     */
+    public boolean deleteBlobIfUnreferenced(String hash) throws IOException {
+        try {
+            // Ligne verrouillée jusqu'au commit, fichier supprimé avant: un upload qui reprend ce hash
+            // attend sur la ligne, puis trouve un blob absent et le réécrit
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                StoredBlob blob = storedBlobRepository.lockByHash(hash).orElse(null);
+                if (blob == null || blob.getRefCount() > 0) {
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(blobPath(hash));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                storedBlobRepository.deleteIfUnreferenced(hash);
+                return true;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * La référence est prise dans la transaction appelante: la ligne du blob reste verrouillée jusqu'à son commit,
+     * ce qui écarte le GC et fait attendre les uploads concurrents du même contenu, sans seconde connexion.
+     * Un nouveau contenu est écrit à côté du blob et n'est mis en place qu'au commit; une annulation défait
+     * la référence et supprime le fichier partiel, aucun blob orphelin ne reste sur le disque.
+     */
+    private StoredFile storeBlob(String hash, long size, BlobWriter writer) throws IOException {
+        Path target = blobPath(hash);
+        storedBlobRepository.acquireReference(hash, size);
+        if (Files.exists(target)) {
+            log.debug("Deduplicated upload onto existing blob {}", hash);
+            return new StoredFile(target.toString(), hash, hash);
+        }
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(hash + "." + UUID.randomUUID() + ".part");
+        try {
+            writer.write(partial);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        moveIntoPlaceOnCommit(partial, target);
+        return new StoredFile(target.toString(), hash, hash);
+    }
+
+    private void moveIntoPlaceOnCommit(Path partial, Path target) throws IOException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            move(partial, target);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // Avant les autres afterCommit (génération des variantes de couverture) qui lisent le blob
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                try {
+                    move(partial, target);
+                } catch (IOException e) {
+                    log.error("Failed to move blob {} into place: {}", target.getFileName(), e.getMessage());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // Annulation (ou échec du déplacement): le fichier partiel n'est plus utile
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException e) {
+                    log.warn("Failed to delete partial blob {}: {}", partial.getFileName(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    // blobs/ab/cd/abcd... : deux niveaux de 256 dossiers pour garder des répertoires petits
+    private Path blobPath(String hash) {
+        return uploadDir.resolve("blobs")
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (FileAlreadyExistsException e) {
+            // même contenu déjà en place
+            Files.deleteIfExists(source);
+        }
+    }
+
+    private Path newIdeaFileTarget(Long ideaId, String originalFilename, String subFolder) throws IOException {
+        String originalName = StringUtils.cleanPath(originalFilename == null ? "file" : originalFilename);
         String ext = "";
         int idx = originalName.lastIndexOf('.');
         if (idx >= 0 && idx < originalName.length() - 1) {
@@ -42,11 +241,7 @@ public class FileStorageService {
         }
 
         Files.createDirectories(ideaFolder);
-        Path target = ideaFolder.resolve(safeName);
-
-        Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-
-        return new StoredFile(target.toString(), safeName);
+        return ideaFolder.resolve(safeName);
     }
 
     public Resource loadAsResource(String absolutePath) {
@@ -56,5 +251,52 @@ public class FileStorageService {
         return new FileSystemResource(absolutePath);
     }
 
-    public record StoredFile(String absolutePath, String storedName) {}
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlobWriter {
+        void write(Path target) throws IOException;
+    }
+
+    // contentHash: SHA-256 hexadécimal en mode adressé par contenu, null sinon
+    public record StoredFile(String absolutePath, String storedName, String contentHash) {}
+
+    public static final class StagedFile {
+        private final Path path;
+        private final MessageDigest digest = sha256();
+
+        StagedFile(Path path) {
+            this.path = path;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public OutputStream openOutputStream() throws IOException {
+            digest.reset();
+            return new DigestOutputStream(Files.newOutputStream(path), digest);
+        }
+
+        public long size() throws IOException {
+            return Files.size(path);
+        }
+
+        /**
+         * Hash du contenu écrit; à appeler une fois le flux fermé.
+         */
+        public String contentHash() {
+            try {
+                return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,200 @@
+package com.example.ideaservice.Service;
+
+import com.example.ideaservice.Model.Dto.IdeaCreateRequest;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lit le JSON de création d'idée ({@link IdeaCreateRequest}) en flux : les champs {@code imageBase64}
+ * et {@code attachments[].dataBase64} sont décodés à la volée vers des fichiers temporaires de
+ * {@link FileStorageService}, sans jamais matérialiser la chaîne Base64 ni les octets décodés.
+ * La mémoire utilisée est celle des tampons du parseur, quelle que soit la taille des fichiers.
+ */
+@Component
+@Slf4j
+public class IdeaJsonStreamReader {
+
+    private final ObjectMapper objectMapper;
+    private final FileStorageService fileStorageService;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public IdeaJsonStreamReader(ObjectMapper objectMapper,
+                                FileStorageService fileStorageService,
+                                @Value("${app.upload.json.max-file-size:20MB}") DataSize maxFileSize,
+                                @Value("${app.upload.json.max-request-size:50MB}") DataSize maxRequestSize) {
+        this.objectMapper = objectMapper;
+        this.fileStorageService = fileStorageService;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+    }
+
+    /**
+     * En cas d'erreur, les fichiers déjà écrits sont supprimés avant de propager l'exception.
+     * Sinon l'appelant doit appeler {@link #discard(StreamedIdea)} une fois l'idée enregistrée.
+     */
+    public StreamedIdea read(InputStream body) throws IOException {
+        StreamedIdea result = new StreamedIdea();
+        long[] requestTotal = {0};
+        try (JsonParser p = objectMapper.getFactory().createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "Expected a JSON object");
+            }
+            IdeaCreateRequest request = result.getRequest();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "title" -> request.setTitle(p.getValueAsString());
+                    case "description" -> request.setDescription(p.getValueAsString());
+                    case "category" -> request.setCategory(p.getValueAsString());
+                    case "priority" -> request.setPriority(p.getValueAsString());
+                    case "organizationId" -> request.setOrganizationId(
+                            p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsLong());
+                    case "imageBase64" -> {
+                        fileStorageService.discard(result.cover);
+                        result.cover = stageBase64(p, requestTotal);
+                    }
+                    case "attachments" -> readAttachments(p, result, requestTotal);
+                    default -> p.skipChildren();
+                }
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            discard(result);
+            throw e;
+        }
+    }
+
+    public void discard(StreamedIdea streamed) {
+        if (streamed == null) {
+            return;
+        }
+        fileStorageService.discard(streamed.cover);
+        for (StreamedAttachment attachment : streamed.attachments) {
+            fileStorageService.discard(attachment.getFile());
+        }
+    }
+
+    private void readAttachments(JsonParser p, StreamedIdea result, long[] requestTotal) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(p, "'attachments' must be an array");
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "Attachment must be an object");
+            }
+            StreamedAttachment attachment = new StreamedAttachment();
+            // ajouté tout de suite pour être nettoyé en cas d'erreur plus loin
+            result.attachments.add(attachment);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "fileName" -> attachment.fileName = p.getValueAsString();
+                    case "fileType" -> attachment.fileType = p.getValueAsString();
+                    case "dataBase64" -> {
+                        fileStorageService.discard(attachment.file);
+                        attachment.file = stageBase64(p, requestTotal);
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+        }
+    }
+
+    private FileStorageService.StagedFile stageBase64(JsonParser p, long[] requestTotal) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            p.skipChildren();
+            return null;
+        }
+        FileStorageService.StagedFile staged = fileStorageService.openStaging();
+        try (OutputStream out = new BoundedOutputStream(staged.openOutputStream(), requestTotal)) {
+            // Décodage incrémental: Jackson lit la chaîne par blocs et écrit les octets décodés
+            p.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, out);
+        } catch (IOException | RuntimeException e) {
+            fileStorageService.discard(staged);
+            throw e;
+        }
+        if (staged.size() == 0) {
+            fileStorageService.discard(staged);
+            return null;
+        }
+        return staged;
+    }
+
+    /**
+     * Compte les octets écrits et interrompt la lecture dès qu'une limite est dépassée.
+     */
+    private final class BoundedOutputStream extends FilterOutputStream {
+        private final long[] requestTotal;
+        private long fileTotal;
+
+        BoundedOutputStream(OutputStream out, long[] requestTotal) {
+            super(out);
+            this.requestTotal = requestTotal;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            count(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count(len);
+            out.write(b, off, len);
+        }
+
+        private void count(int len) {
+            fileTotal += len;
+            requestTotal[0] += len;
+            if (fileTotal > maxFileSize) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "File exceeds the maximum size of " + maxFileSize + " bytes");
+            }
+            if (requestTotal[0] > maxRequestSize) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Request exceeds the maximum total size of " + maxRequestSize + " bytes");
+            }
+        }
+    }
+
+    @Getter
+    public static class StreamedIdea {
+        private final IdeaCreateRequest request = new IdeaCreateRequest();
+        private FileStorageService.StagedFile cover;
+        private final List<StreamedAttachment> attachments = new ArrayList<>();
+    }
+
+    @Getter
+    public static class StreamedAttachment {
+        private String fileName;
+        private String fileType;
+        private FileStorageService.StagedFile file;
+    }
+}
@@ -3,14 +3,18 @@ package com.example.ideaservice.Service;
 import com.example.ideaservice.Exceptions.ResourceNotFoundException;
 import com.example.ideaservice.Model.Dto.IdeaCreateRequest;
 import com.example.ideaservice.Model.Dto.IdeaDTO;
+import com.example.ideaservice.Model.Dto.IdeaOwner;
 import com.example.ideaservice.Model.Dto.IdeaUpdateRequest;
+import com.example.ideaservice.Model.Dto.VoteCountUpdate;
+import com.example.ideaservice.Model.Dto.page.CursorPage;
 import com.example.ideaservice.Model.enums.IdeaStatus;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IdeaService {
-    IdeaDTO createIdea(IdeaCreateRequest request, Long creatorId, Long organizationId);
+    IdeaDTO createIdeaStreamed(IdeaJsonStreamReader.StreamedIdea streamed, Long creatorId, Long organizationId);
 
     IdeaDTO createIdeaMultipart(IdeaCreateRequest request,
                                MultipartFile coverImage,
@@ -21,6 +25,7 @@ public interface IdeaService {
 
     // Org-scoped global list
     List<IdeaDTO> getAllIdeasByOrg(Long organizationId);
+    CursorPage<IdeaDTO> getAllIdeasByOrg(Long organizationId, String cursor, int limit);
 
     IdeaDTO updateIdea(Long id, IdeaUpdateRequest request, Long currentUserId, Long organizationId) throws ResourceNotFoundException;
     void deleteIdea(Long id, Long currentUserId, Long organizationId) throws ResourceNotFoundException;
@@ -32,7 +37,14 @@ public interface IdeaService {
     List<IdeaDTO> getIdeasByCreator(Long creatorId);
     List<IdeaDTO> getIdeasByCreatorAndOrg(Long creatorId, Long organizationId);
     List<IdeaDTO> getIdeasByOrganization(Long organizationId);
+
+    // Keyset-paged reads
+    CursorPage<IdeaDTO> getIdeasByStatusInOrg(IdeaStatus status, Long organizationId, String cursor, int limit);
+    CursorPage<IdeaDTO> getIdeasByCreatorAndOrg(Long creatorId, Long organizationId, String cursor, int limit);
+    CursorPage<IdeaDTO> getIdeasByOrganization(Long organizationId, String cursor, int limit);
+
     List<IdeaDTO> searchIdeasInOrg(String keyword, Long organizationId);
+    List<IdeaDTO> searchIdeasInOrg(String keyword, Long organizationId, int page, int size);
     List<IdeaDTO> getTop10IdeasInOrg(Long organizationId);
 
     IdeaDTO approveBudget(Long id) throws ResourceNotFoundException;
@@ -41,4 +53,7 @@ public interface IdeaService {
     IdeaDTO removeTeamMember(Long ideaId, Long userId) throws ResourceNotFoundException;
     List<Long> getTeamMembers(Long ideaId) throws ResourceNotFoundException;
     void updateVoteCount(Long ideaId, Integer voteCount);
+    void applyVoteCounts(Map<Long, List<VoteCountUpdate>> voteChanges);
+    IdeaOwner getIdeaOwner(Long ideaId) throws ResourceNotFoundException;
+    List<IdeaOwner> getIdeaOwners(List<Long> ideaIds);
 }
\ No newline at end of file
@@ -3,23 +3,31 @@ package com.example.ideaservice.Service;
 import com.example.ideaservice.Exceptions.ResourceNotFoundException;
 import com.example.ideaservice.Model.Dto.IdeaCreateRequest;
 import com.example.ideaservice.Model.Dto.IdeaDTO;
+import com.example.ideaservice.Model.Dto.IdeaOwner;
 import com.example.ideaservice.Model.Dto.IdeaUpdateRequest;
-import com.example.ideaservice.Model.Dto.AttachmentUploadRequest;
+import com.example.ideaservice.Model.Dto.VoteCountUpdate;
+import com.example.ideaservice.Model.Dto.page.CursorPage;
+import com.example.ideaservice.Model.Dto.page.IdeaCursor;
 import com.example.ideaservice.Model.entities.Idea;
 import com.example.ideaservice.Model.entities.Attachment;
 
+import com.example.ideaservice.Model.enums.DerivativeStatus;
 import com.example.ideaservice.Model.enums.IdeaStatus;
 import com.example.ideaservice.Repository.IdeaRepository;
 import com.example.ideaservice.Repository.AttachementRepository;
 import com.example.ideaservice.mapper.IdeaMapper;
-import com.example.ideaservice.messaging.NotificationEvent;
-import com.example.ideaservice.messaging.NotificationPublisher;
+import com.example.ideaservice.messaging.IdeaEventPublisher;
 import com.example.ideaservice.client.UsersClient;
+import com.example.ideaservice.leaderboard.IdeaLeaderboard;
+import com.example.ideaservice.search.IdeaSearchIndex;
+import com.example.messaging.NotificationEvent;
+import com.example.messaging.NotificationPublisher;
 
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,9 +35,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
-import java.util.Base64;
 import java.util.Date;
 import feign.FeignException;
 
@@ -39,79 +53,61 @@ import feign.FeignException;
 @Transactional
 public class IdeaServiceImpl implements IdeaService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final IdeaRepository ideaRepository;
     private final AttachementRepository attachementRepository;
     private final IdeaMapper ideaMapper;
     private final NotificationPublisher notificationPublisher;
     private final UsersClient usersClient;
     private final FileStorageService fileStorageService;
-
+    private final IdeaSearchIndex ideaSearchIndex;
+    private final IdeaLeaderboard ideaLeaderboard;
+    private final IdeaEventPublisher ideaEventPublisher;
+    private final CoverDerivativeService coverDerivativeService;
+
+    /**
+     * Création depuis le JSON lu en flux: les fichiers sont déjà décodés sur disque (staging),
+     * il ne reste qu'à les déplacer dans le dossier de l'idée.
+     */
     @Override
-    public IdeaDTO createIdea(IdeaCreateRequest request, Long creatorId, Long organizationId) {
-        log.info("Creating new idea with title: {} for creator: {} in org: {}", request.getTitle(), creatorId, organizationId);
+    public IdeaDTO createIdeaStreamed(IdeaJsonStreamReader.StreamedIdea streamed, Long creatorId, Long organizationId) {
+        IdeaCreateRequest request = streamed.getRequest();
+        log.info("Creating new idea (streamed JSON) with title: {} for creator: {} in org: {}", request.getTitle(), creatorId, organizationId);
 
         Idea idea = ideaMapper.toEntity(request);
         idea.setCreatorId(creatorId);
         idea.setOrganizationId(organizationId);
 
         Idea savedIdea = ideaRepository.save(idea);
-        log.info("Idea created successfully with id: {}", savedIdea.getId());
+        log.info("Idea created successfully (streamed JSON) with id: {}", savedIdea.getId());
+        ideaSearchIndex.indexAfterCommit(savedIdea);
+        refreshLeaderboard(savedIdea);
+        ideaEventPublisher.publishCreatedAfterCommit(savedIdea.getId(), creatorId, organizationId);
 
-        // Cover image stored as an Attachment with bytes in DB
-        if (request.getImageBase64() != null && !request.getImageBase64().isBlank()) {
+        if (streamed.getCover() != null) {
             try {
-                String base64Data = request.getImageBase64();
-                if (base64Data.startsWith("data:image/")) {
-                    base64Data = base64Data.split(",")[1];
-                }
-                byte[] imageBytes = Base64.getDecoder().decode(base64Data);
-
-                Attachment attachment = Attachment.builder()
-                        .fileName("idea_image_" + savedIdea.getId() + ".jpg")
-                        .fileType("image/jpeg")
-                        .data(imageBytes)
-                        .fileSize((long) imageBytes.length)
-                        .uploadDate(new Date())
-                        .uploadedBy(creatorId)
-                        .idea(savedIdea)
-                        .build();
-
-                Attachment savedAtt = attachementRepository.save(attachment);
-                savedAtt.setFileUrl("/api/ideas/attachments/" + savedAtt.getId() + "/download");
-                attachementRepository.save(savedAtt);
+                String fileType = ImageTypes.resolve(ImageTypes.detect(streamed.getCover().path()), null);
+                String fileName = "idea_image_" + savedIdea.getId() + ImageTypes.extension(fileType);
+                long size = streamed.getCover().size();
+                FileStorageService.StoredFile stored = fileStorageService.promote(streamed.getCover(), savedIdea.getId(), fileName, "cover");
+                requestCoverVariants(saveFileAttachment(savedIdea, stored, fileName, fileType, size, creatorId,
+                        coverDerivativeStatus(fileType)));
             } catch (Exception e) {
-                log.warn("Failed to process image attachment: {}", e.getMessage());
+                log.warn("Failed to store image attachment: {}", e.getMessage());
             }
         }
 
-        // Additional attachments stored in DB
-        if (request.getAttachments() != null && !request.getAttachments().isEmpty()) {
-            for (AttachmentUploadRequest a : request.getAttachments()) {
-                if (a == null || a.getDataBase64() == null || a.getDataBase64().isBlank()) continue;
-                try {
-                    String base64Data = a.getDataBase64();
-                    int comma = base64Data.indexOf(',');
-                    if (comma >= 0) {
-                        base64Data = base64Data.substring(comma + 1);
-                    }
-                    byte[] bytes = Base64.getDecoder().decode(base64Data);
-
-                    Attachment attachment = Attachment.builder()
-                            .fileName(a.getFileName() == null ? "attachment" : a.getFileName())
-                            .fileType(a.getFileType() == null ? "application/octet-stream" : a.getFileType())
-                            .data(bytes)
-                            .fileSize((long) bytes.length)
-                            .uploadDate(new Date())
-                            .uploadedBy(creatorId)
-                            .idea(savedIdea)
-                            .build();
-
-                    Attachment savedAtt = attachementRepository.save(attachment);
-                    savedAtt.setFileUrl("/api/ideas/attachments/" + savedAtt.getId() + "/download");
-                    attachementRepository.save(savedAtt);
-                } catch (Exception e) {
-                    log.warn("Failed to process attachment {}: {}", a.getFileName(), e.getMessage());
-                }
+        for (IdeaJsonStreamReader.StreamedAttachment a : streamed.getAttachments()) {
+            if (a.getFile() == null) continue;
+            try {
+                String fileName = a.getFileName() == null ? "attachment" : a.getFileName();
+                long size = a.getFile().size();
+                FileStorageService.StoredFile stored = fileStorageService.promote(a.getFile(), savedIdea.getId(), fileName, "attachments");
+                saveFileAttachment(savedIdea, stored, fileName,
+                        a.getFileType() == null ? "application/octet-stream" : a.getFileType(), size, creatorId, null);
+            } catch (Exception e) {
+                log.warn("Failed to store attachment {}: {}", a.getFileName(), e.getMessage());
             }
         }
 
@@ -122,7 +118,7 @@ public class IdeaServiceImpl implements IdeaService {
                 .message("Votre idée '" + savedIdea.getTitle() + "' a été créée avec l'ID " + savedIdea.getId())
                 .createdAt(java.time.Instant.now())
                 .build();
-        notificationPublisher.publish(event);
+        notificationPublisher.publish(String.valueOf(creatorId), event);
 
         return ideaMapper.toDTO(savedIdea);
     }
@@ -152,23 +148,33 @@ public class IdeaServiceImpl implements IdeaService {
 
         Idea savedIdea = ideaRepository.save(idea);
         log.info("Idea created successfully (multipart) with id: {}", savedIdea.getId());
+        ideaSearchIndex.indexAfterCommit(savedIdea);
+        refreshLeaderboard(savedIdea);
+        ideaEventPublisher.publishCreatedAfterCommit(savedIdea.getId(), creatorId, organizationId);
 
         if (coverImage != null && !coverImage.isEmpty()) {
             try {
+                String fileType;
+                try (InputStream in = coverImage.getInputStream()) {
+                    fileType = ImageTypes.resolve(ImageTypes.detect(in), coverImage.getContentType());
+                }
                 FileStorageService.StoredFile stored = fileStorageService.storeIdeaFile(savedIdea.getId(), coverImage, "cover");
                 Attachment attachment = Attachment.builder()
                         .fileName(coverImage.getOriginalFilename() == null ? "cover" : coverImage.getOriginalFilename())
-                        .fileType(coverImage.getContentType() == null ? "application/octet-stream" : coverImage.getContentType())
+                        .fileType(fileType)
                         .fileSize(coverImage.getSize())
                         .uploadDate(new Date())
                         .uploadedBy(creatorId)
                         .idea(savedIdea)
                         .filePath(stored.absolutePath())
+                        .contentHash(stored.contentHash())
+                        .derivativeStatus(coverDerivativeStatus(fileType))
                         .build();
 
                 Attachment savedAtt = attachementRepository.save(attachment);
                 savedAtt.setFileUrl("/api/ideas/attachments/" + savedAtt.getId() + "/download");
                 attachementRepository.save(savedAtt);
+                requestCoverVariants(savedAtt);
             } catch (Exception e) {
                 log.warn("Failed to store cover image: {}", e.getMessage());
             }
@@ -187,6 +193,7 @@ public class IdeaServiceImpl implements IdeaService {
                             .uploadedBy(creatorId)
                             .idea(savedIdea)
                             .filePath(stored.absolutePath())
+                            .contentHash(stored.contentHash())
                             .build();
                     Attachment savedAtt = attachementRepository.save(attachment);
                     savedAtt.setFileUrl("/api/ideas/attachments/" + savedAtt.getId() + "/download");
@@ -204,7 +211,7 @@ public class IdeaServiceImpl implements IdeaService {
                 .message("Votre idée '" + savedIdea.getTitle() + "' a été créée avec l'ID " + savedIdea.getId())
                 .createdAt(java.time.Instant.now())
                 .build();
-        notificationPublisher.publish(event);
+        notificationPublisher.publish(String.valueOf(creatorId), event);
 
         return ideaMapper.toDTO(savedIdea);
     }
@@ -216,6 +223,14 @@ public class IdeaServiceImpl implements IdeaService {
         return ideaMapper.toDTOList(ideas);
     }
 
+    @Override
+    @Transactional
+    public CursorPage<IdeaDTO> getAllIdeasByOrg(Long organizationId, String cursor, int limit) {
+        return keysetPage(cursor, limit, (after, max) -> after == null
+                ? ideaRepository.findByOrganizationIdOrderByCreationDateDescIdDesc(organizationId, max)
+                : ideaRepository.findPageInOrgAfter(organizationId, after.creationDate(), after.id(), max));
+    }
+
     @Override
     public IdeaDTO updateIdea(Long id, IdeaUpdateRequest request, Long currentUserId, Long organizationId) throws ResourceNotFoundException {
         log.info("Updating idea with id: {} by user {} in org {}", id, currentUserId, organizationId);
@@ -240,7 +255,9 @@ public class IdeaServiceImpl implements IdeaService {
         }
 
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
         log.info("Idea updated successfully with id: {}", updatedIdea.getId());
+        ideaSearchIndex.indexAfterCommit(updatedIdea);
 
         return ideaMapper.toDTO(updatedIdea);
     }
@@ -262,7 +279,21 @@ public class IdeaServiceImpl implements IdeaService {
             throw new BadRequestException("Only ideas in DRAFT status can be deleted");
         }
 
+        // Les blobs partagés ne sont supprimés par le GC qu'une fois leur dernière référence retirée
+        for (Attachment attachment : idea.getAttachments()) {
+            fileStorageService.release(attachment.getContentHash());
+            if (attachment.getDerivativeStatus() != null) {
+                coverDerivativeService.deleteAfterCommit(attachment.getId());
+            }
+        }
         ideaRepository.delete(idea);
+        // Flags écrits avec la suppression; le classement en mémoire n'est modifié qu'au commit
+        IdeaLeaderboard.TopChange topChange = ideaLeaderboard.projectRemoval(idea.getOrganizationId(), id).change();
+        if (!topChange.entered().isEmpty()) {
+            ideaRepository.updateTop10Flag(topChange.entered(), true);
+        }
+        ideaLeaderboard.removeAfterCommit(idea.getOrganizationId(), id, topChange);
+        ideaSearchIndex.removeAfterCommit(id, idea.getOrganizationId());
         log.info("Idea deleted successfully with id: {}", id);
     }
     @Override
@@ -278,6 +309,7 @@ public class IdeaServiceImpl implements IdeaService {
 
         idea.setStatus(IdeaStatus.SUBMITTED);
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
 
         log.info("Idea submitted successfully with id: {}", id);
 
@@ -294,6 +326,7 @@ public class IdeaServiceImpl implements IdeaService {
 
         idea.setStatus(newStatus);
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
 
         log.info("Status changed successfully for idea {}", id);
 
@@ -333,23 +366,91 @@ public class IdeaServiceImpl implements IdeaService {
         return ideaMapper.toDTOList(ideas);
     }
 
+    @Override
+    @Transactional
+    public CursorPage<IdeaDTO> getIdeasByStatusInOrg(IdeaStatus status, Long organizationId, String cursor, int limit) {
+        log.info("Fetching page of ideas with status: {} in org {}", status, organizationId);
+        return keysetPage(cursor, limit, (after, max) -> after == null
+                ? ideaRepository.findByStatusAndOrganizationIdOrderByCreationDateDescIdDesc(status, organizationId, max)
+                : ideaRepository.findPageByStatusInOrgAfter(status, organizationId, after.creationDate(), after.id(), max));
+    }
+
+    @Override
+    @Transactional
+    public CursorPage<IdeaDTO> getIdeasByCreatorAndOrg(Long creatorId, Long organizationId, String cursor, int limit) {
+        log.info("Fetching page of ideas created by user: {} in org {}", creatorId, organizationId);
+        return keysetPage(cursor, limit, (after, max) -> after == null
+                ? ideaRepository.findByCreatorIdAndOrganizationIdOrderByCreationDateDescIdDesc(creatorId, organizationId, max)
+                : ideaRepository.findPageByCreatorInOrgAfter(creatorId, organizationId, after.creationDate(), after.id(), max));
+    }
+
+    @Override
+    @Transactional
+    public CursorPage<IdeaDTO> getIdeasByOrganization(Long organizationId, String cursor, int limit) {
+        log.info("Fetching page of ideas for organization: {}", organizationId);
+        return getAllIdeasByOrg(organizationId, cursor, limit);
+    }
+
     @Override
     @Transactional
     public List<IdeaDTO> searchIdeasInOrg(String keyword, Long organizationId) {
-        log.info("Searching ideas with keyword: {} in org {}", keyword, organizationId);
-        List<Idea> ideas = ideaRepository.searchByKeywordInOrg(keyword, organizationId);
+        return searchIdeasInOrg(keyword, organizationId, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    @Transactional
+    public List<IdeaDTO> searchIdeasInOrg(String keyword, Long organizationId, int page, int size) {
+        log.info("Searching ideas with keyword: {} in org {} (page {}, size {})", keyword, organizationId, page, size);
+        List<Long> rankedIds = ideaSearchIndex.search(organizationId, keyword, page, size).orElse(null);
+        if (rankedIds == null) {
+            // Index indisponible ou mot-clé sans terme indexable: recherche LIKE historique
+            List<Idea> ideas = ideaRepository.searchByKeywordInOrg(keyword, organizationId);
+            int from = (int) Math.min((long) page * size, ideas.size());
+            int to = (int) Math.min((long) from + size, ideas.size());
+            return ideaMapper.toDTOList(ideas.subList(from, to));
+        }
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        List<Idea> ideas = ideaRepository.findAllById(rankedIds).stream()
+                .filter(i -> organizationId.equals(i.getOrganizationId()))
+                .sorted(Comparator.comparing(i -> rank.get(i.getId())))
+                .collect(Collectors.toList());
         return ideaMapper.toDTOList(ideas);
     }
 
     @Override
     @Transactional
     public List<IdeaDTO> getTop10IdeasInOrg(Long organizationId) {
-        log.info("Fetching top 10 ideas in org {}", organizationId);
-        Pageable topTen = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "totalScore"));
-        Page<Idea> topIdeas = ideaRepository.findTopIdeasInOrg(organizationId, topTen);
-        return topIdeas.getContent().stream()
-                .map(ideaMapper::toDTO)
+        if (!ideaLeaderboard.isReady()) {
+            log.info("Fetching top 10 ideas in org {} from database", organizationId);
+            Pageable topTen = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "totalScore"));
+            Page<Idea> topIdeas = ideaRepository.findTopIdeasInOrg(organizationId, topTen);
+            return ideaMapper.toDTOList(topIdeas.getContent());
+        }
+
+        IdeaLeaderboard.Snapshot snapshot = ideaLeaderboard.snapshot(organizationId);
+        if (snapshot.ideas() != null) {
+            return snapshot.ideas();
+        }
+
+        // Top modifié depuis le dernier appel: recharger uniquement les idées du top par id
+        log.info("Reloading top 10 ideas in org {}", organizationId);
+        Map<Long, Idea> byId = ideaRepository.findAllById(snapshot.topIds()).stream()
+                .collect(Collectors.toMap(Idea::getId, i -> i));
+        List<Idea> ordered = snapshot.topIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        List<IdeaDTO> top = ideaMapper.toDTOList(ordered);
+        top.forEach(dto -> dto.setIsInTop10(true));
+        ideaLeaderboard.publish(organizationId, snapshot.version(), top);
+        return top;
     }
 
     @Override
@@ -365,6 +466,7 @@ public class IdeaServiceImpl implements IdeaService {
 
         idea.approveBudget();
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
 
         log.info("Budget approved for idea: {}", id);
 
@@ -381,6 +483,7 @@ public class IdeaServiceImpl implements IdeaService {
 
         idea.rejectBudget();
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
 
         log.info("Budget rejected for idea: {}", id);
 
@@ -418,6 +521,7 @@ public class IdeaServiceImpl implements IdeaService {
         }
 
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
 
         log.info("User {} added to idea {} team", userId, ideaId);
 
@@ -437,6 +541,7 @@ public class IdeaServiceImpl implements IdeaService {
 
         idea.removeTeamMember(userId);
         Idea updatedIdea = ideaRepository.save(idea);
+        ideaLeaderboard.invalidateAfterCommit(updatedIdea.getOrganizationId(), updatedIdea.getId());
 
         log.info("User {} removed from idea {} team", userId, ideaId);
 
@@ -455,6 +560,73 @@ public class IdeaServiceImpl implements IdeaService {
     }
 
 
+    /**
+     * Charge une page de plus que demandé pour savoir s'il existe une page suivante, sans COUNT ni OFFSET.
+     */
+    private CursorPage<IdeaDTO> keysetPage(String cursor, int limit,
+                                           BiFunction<IdeaCursor, Limit, List<Idea>> finder) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        IdeaCursor after = cursor == null || cursor.isBlank() ? null : IdeaCursor.decode(cursor);
+
+        List<Idea> ideas = finder.apply(after, Limit.of(pageSize + 1));
+        String nextCursor = null;
+        if (ideas.size() > pageSize) {
+            ideas = ideas.subList(0, pageSize);
+            nextCursor = IdeaCursor.of(ideas.get(pageSize - 1)).encode();
+        }
+        return CursorPage.<IdeaDTO>builder()
+                .items(ideaMapper.toDTOList(ideas))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private Attachment saveFileAttachment(Idea idea, FileStorageService.StoredFile stored,
+                                          String fileName, String fileType, long size, Long uploadedBy,
+                                          DerivativeStatus derivativeStatus) {
+        Attachment attachment = Attachment.builder()
+                .fileName(fileName)
+                .fileType(fileType)
+                .fileSize(size)
+                .uploadDate(new Date())
+                .uploadedBy(uploadedBy)
+                .idea(idea)
+                .filePath(stored.absolutePath())
+                .contentHash(stored.contentHash())
+                .derivativeStatus(derivativeStatus)
+                .build();
+        Attachment savedAtt = attachementRepository.save(attachment);
+        savedAtt.setFileUrl("/api/ideas/attachments/" + savedAtt.getId() + "/download");
+        return attachementRepository.save(savedAtt);
+    }
+
+    // Seules les couvertures reconnues comme images passent par le pipeline de variantes
+    private static DerivativeStatus coverDerivativeStatus(String fileType) {
+        return fileType != null && fileType.startsWith("image/") ? DerivativeStatus.PENDING : null;
+    }
+
+    private void requestCoverVariants(Attachment cover) {
+        if (cover.getDerivativeStatus() == DerivativeStatus.PENDING) {
+            coverDerivativeService.generateAfterCommit(cover.getId());
+        }
+    }
+
+    // Seuls les flags isInTop10 sont écrits dans la transaction; le classement en mémoire suit au commit
+    private void refreshLeaderboard(Idea idea) {
+        IdeaLeaderboard.Projection projection = ideaLeaderboard.project(
+                idea.getOrganizationId(), idea.getId(), idea.getTotalScore(), idea.getVoteCount());
+        IdeaLeaderboard.TopChange change = projection.change();
+        idea.setIsInTop10(projection.inTop());
+        ideaLeaderboard.updateAfterCommit(idea.getOrganizationId(), idea.getId(), idea.getTotalScore(), idea.getVoteCount(), change);
+        List<Long> entered = change.entered().stream().filter(id -> !id.equals(idea.getId())).collect(Collectors.toList());
+        List<Long> left = change.left().stream().filter(id -> !id.equals(idea.getId())).collect(Collectors.toList());
+        if (!entered.isEmpty()) {
+            ideaRepository.updateTop10Flag(entered, true);
+        }
+        if (!left.isEmpty()) {
+            ideaRepository.updateTop10Flag(left, false);
+        }
+    }
+
     private void validateStatusTransition(IdeaStatus currentStatus, IdeaStatus newStatus) {
         boolean isValidTransition = false;
 
@@ -500,7 +672,58 @@ public class IdeaServiceImpl implements IdeaService {
         
         // vote_count field in database stores the total number of votes for this idea
         idea.setVoteCount(voteCount);
+        refreshLeaderboard(idea);
         ideaRepository.save(idea);
         log.info("vote_count updated successfully for idea {} (total votes: {})", ideaId, voteCount);
     }
-}
\ No newline at end of file
+
+    /**
+     * Applique en une transaction les changements de votes d'un lot Kafka, dans l'ordre des offsets par idée.
+     * Seuls les changements d'offset supérieur au dernier appliqué sont comptés: un lot rejoué
+     * (même redécoupé) ne compte chaque vote qu'une fois. Les idées supprimées entre-temps sont ignorées.
+     */
+    @Override
+    public void applyVoteCounts(Map<Long, List<VoteCountUpdate>> voteChanges) {
+        if (voteChanges.isEmpty()) {
+            return;
+        }
+        List<Idea> changed = new ArrayList<>();
+        int replayed = 0;
+        for (Idea idea : ideaRepository.findAllById(voteChanges.keySet())) {
+            long applied = idea.getVoteCountOffset() == null ? -1L : idea.getVoteCountOffset();
+            long lastOffset = applied;
+            int delta = 0;
+            for (VoteCountUpdate update : voteChanges.get(idea.getId())) {
+                if (update.offset() <= applied) {
+                    replayed++;
+                    continue;
+                }
+                delta += update.delta();
+                lastOffset = Math.max(lastOffset, update.offset());
+            }
+            if (lastOffset == applied) {
+                continue;
+            }
+            idea.setVoteCountOffset(lastOffset);
+            if (delta != 0) {
+                int current = idea.getVoteCount() == null ? 0 : idea.getVoteCount();
+                idea.setVoteCount(Math.max(0, current + delta));
+                refreshLeaderboard(idea);
+            }
+            changed.add(idea);
+        }
+        ideaRepository.saveAll(changed);
+        log.info("vote_count updated for {} ideas ({} received, {} replayed changes skipped)", changed.size(), voteChanges.size(), replayed);
+    }
+
+    @Override
+    public IdeaOwner getIdeaOwner(Long ideaId) throws ResourceNotFoundException {
+        return ideaRepository.findOwnerById(ideaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Idea not found with id: " + ideaId));
+    }
+
+    @Override
+    public List<IdeaOwner> getIdeaOwners(List<Long> ideaIds) {
+        return ideaIds.isEmpty() ? List.of() : ideaRepository.findOwnersByIdIn(ideaIds);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ideaservice.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Type d'image déduit des premiers octets du contenu (signature), pas du nom ni de la déclaration du client.
+ */
+public final class ImageTypes {
+
+    private static final int HEADER_LENGTH = 12;
+
+    private ImageTypes() {
+    }
+
+    /**
+     * @return le type MIME reconnu, ou null si le contenu n'est pas une image connue
+     */
+    public static String detect(byte[] content) {
+        if (content == null || content.length < 4) {
+            return null;
+        }
+        int b0 = content[0] & 0xff;
+        int b1 = content[1] & 0xff;
+        int b2 = content[2] & 0xff;
+        int b3 = content[3] & 0xff;
+        if (b0 == 0xff && b1 == 0xd8 && b2 == 0xff) {
+            return "image/jpeg";
+        }
+        if (b0 == 0x89 && b1 == 'P' && b2 == 'N' && b3 == 'G') {
+            return "image/png";
+        }
+        if (b0 == 'G' && b1 == 'I' && b2 == 'F' && b3 == '8') {
+            return "image/gif";
+        }
+        if (b0 == 'B' && b1 == 'M') {
+            return "image/bmp";
+        }
+        if (content.length >= HEADER_LENGTH && b0 == 'R' && b1 == 'I' && b2 == 'F' && b3 == 'F'
+                && content[8] == 'W' && content[9] == 'E' && content[10] == 'B' && content[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    public static String detect(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return detect(in);
+        }
+    }
+
+    /** Lit seulement l'en-tête; le flux n'est pas fermé. */
+    public static String detect(InputStream in) throws IOException {
+        return detect(in.readNBytes(HEADER_LENGTH));
+    }
+
+    /**
+     * Type à enregistrer: celui reconnu dans le contenu, à défaut celui déclaré par le client.
+     */
+    public static String resolve(String detected, String declared) {
+        if (detected != null) {
+            return detected;
+        }
+        return declared == null || declared.isBlank() ? "application/octet-stream" : declared;
+    }
+
+    public static String extension(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        return switch (contentType) {
+            case "image/jpeg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            case "image/bmp" -> ".bmp";
+            case "image/webp" -> ".webp";
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ideaservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache borné des noms d'utilisateurs (taille + TTL). Les noms de repli ("Membre N", utilisateur
+ * introuvable ou userservice indisponible) sont des entrées négatives à durée de vie courte.
+ * Les entrées sont invalidées par les événements user-updated de userservice.
+ * Statistiques exposées via Micrometer: cache.gets{cache=user-names,result=hit|miss}, cache.evictions, ...
+ */
+@Component
+@Slf4j
+public class UserNameCache {
+
+    private final Cache<Long, Entry> cache;
+
+    public UserNameCache(@Value("${app.users.name-cache.max-size:10000}") long maxSize,
+                         @Value("${app.users.name-cache.ttl:PT1H}") Duration ttl,
+                         @Value("${app.users.name-cache.negative-ttl:PT1M}") Duration negativeTtl,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Entry value, long currentTime) {
+                        return (value.negative() ? negativeTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Entry value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Entry value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-names");
+    }
+
+    /**
+     * @return le nom en cache (éventuellement un nom de repli), ou null s'il faut interroger userservice
+     */
+    public String get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(userId);
+        return entry == null ? null : entry.name();
+    }
+
+    public void put(Long userId, String name) {
+        if (userId == null || name == null) {
+            return;
+        }
+        cache.put(userId, new Entry(name, false));
+    }
+
+    public void putFallback(Long userId, String fallbackName) {
+        if (userId == null || fallbackName == null) {
+            return;
+        }
+        cache.put(userId, new Entry(fallbackName, true));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private record Entry(String name, boolean negative) {}
+}
@@ -6,6 +6,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.Map;
+
 @FeignClient(name = "userservice", path = "/api/users")
 public interface UsersClient {
 
@@ -17,4 +20,8 @@ public interface UsersClient {
 
     @GetMapping("/{id}/name")
     String getUserNameById(@PathVariable("id") Long id);
+
+    // Au plus 500 ids par appel; les ids inconnus sont absents de la réponse
+    @GetMapping("/names")
+    Map<Long, String> getUserNamesByIds(@RequestParam("ids") Collection<Long> ids);
 }
@@ -0,0 +1,348 @@
+package com.example.ideaservice.leaderboard;
+
+import com.example.ideaservice.Model.Dto.IdeaDTO;
+import com.example.ideaservice.Repository.IdeaRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classement en mémoire des idées de chaque organisation (totalScore, puis voteCount, puis id décroissants).
+ * Le top N est matérialisé : ses DTO sont gardés en cache jusqu'à ce qu'une idée du top change,
+ * et les entrées / sorties du top sont signalées pour maintenir {@code Idea.isInTop10}.
+ * <p>
+ * Dans une transaction, le classement n'est que projeté ({@link #project}) pour écrire les flags avec elle;
+ * il n'est modifié qu'après le commit: un rollback ne laisse aucune trace en mémoire.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdeaLeaderboard {
+
+    public static final int TOP_N = 10;
+
+    private static final Comparator<Rank> RANKING = Comparator
+            .comparingInt(Rank::score).reversed()
+            .thenComparing(Comparator.comparingInt(Rank::votes).reversed())
+            .thenComparing(Comparator.comparingLong(Rank::ideaId).reversed());
+
+    private final IdeaRepository ideaRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, OrgBoard> boards = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUp() {
+        try {
+            for (RankedIdea row : ideaRepository.findAllForLeaderboard()) {
+                board(row.getOrganizationId()).put(new Rank(row.getId(), nz(row.getTotalScore()), nz(row.getVoteCount())));
+            }
+            Set<Long> topIds = new HashSet<>();
+            for (OrgBoard board : boards.values()) {
+                topIds.addAll(board.topIds());
+            }
+            // Réaligne le flag persistant sur le classement calculé
+            ideaRepository.clearTop10FlagExcept(topIds.isEmpty() ? Set.of(-1L) : topIds);
+            if (!topIds.isEmpty()) {
+                ideaRepository.updateTop10Flag(topIds, true);
+            }
+            ready = true;
+            log.info("Leaderboards built for {} organizations", boards.size());
+        } catch (Exception e) {
+            log.error("Failed to build leaderboards, top ideas will be read from the database: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Insère ou repositionne une idée et retourne les idées entrées / sorties du top N.
+     */
+    public TopChange update(Long organizationId, Long ideaId, Integer totalScore, Integer voteCount) {
+        return board(organizationId).update(new Rank(ideaId, nz(totalScore), nz(voteCount)));
+    }
+
+    public TopChange remove(Long organizationId, Long ideaId) {
+        OrgBoard board = boards.get(organizationId);
+        return board == null ? TopChange.NONE : board.remove(ideaId);
+    }
+
+    /**
+     * Classement qu'aurait l'organisation avec ce score, sans le modifier.
+     */
+    public Projection project(Long organizationId, Long ideaId, Integer totalScore, Integer voteCount) {
+        return board(organizationId).project(new Rank(ideaId, nz(totalScore), nz(voteCount)));
+    }
+
+    public Projection projectRemoval(Long organizationId, Long ideaId) {
+        OrgBoard board = boards.get(organizationId);
+        return board == null ? new Projection(TopChange.NONE, false) : board.projectRemoval(ideaId);
+    }
+
+    /**
+     * Applique le score au commit. Si d'autres commits ont changé le top entre-temps, le résultat diffère
+     * de la projection écrite en base: les flags des idées concernées sont réalignés dans une nouvelle transaction.
+     */
+    public void updateAfterCommit(Long organizationId, Long ideaId, Integer totalScore, Integer voteCount, TopChange projected) {
+        afterCommit(() -> realignIfChanged(organizationId, ideaId, projected,
+                update(organizationId, ideaId, totalScore, voteCount)));
+    }
+
+    public void removeAfterCommit(Long organizationId, Long ideaId, TopChange projected) {
+        afterCommit(() -> realignIfChanged(organizationId, ideaId, projected, remove(organizationId, ideaId)));
+    }
+
+    public void invalidateAfterCommit(Long organizationId, Long ideaId) {
+        afterCommit(() -> invalidate(organizationId, ideaId));
+    }
+
+    public boolean isInTop(Long organizationId, Long ideaId) {
+        OrgBoard board = boards.get(organizationId);
+        return board != null && board.isInTop(ideaId);
+    }
+
+    /**
+     * A appeler quand une idée change sans que son score change (titre, statut...) : si elle fait partie
+     * du top, le cache de DTO est invalidé.
+     */
+    public void invalidate(Long organizationId, Long ideaId) {
+        OrgBoard board = boards.get(organizationId);
+        if (board != null) {
+            board.invalidate(ideaId);
+        }
+    }
+
+    public Snapshot snapshot(Long organizationId) {
+        return board(organizationId).snapshot();
+    }
+
+    /**
+     * Enregistre les DTO du top, sauf si le classement a changé depuis la lecture des ids.
+     */
+    public void publish(Long organizationId, long version, List<IdeaDTO> ideas) {
+        board(organizationId).publish(version, ideas);
+    }
+
+    private void realignIfChanged(Long organizationId, Long ideaId, TopChange projected, TopChange actual) {
+        if (actual.equals(projected)) {
+            return;
+        }
+        Set<Long> touched = new HashSet<>();
+        touched.add(ideaId);
+        touched.addAll(projected.entered());
+        touched.addAll(projected.left());
+        touched.addAll(actual.entered());
+        touched.addAll(actual.left());
+        List<Long> inTop = new ArrayList<>();
+        List<Long> outOfTop = new ArrayList<>();
+        for (Long id : touched) {
+            (isInTop(organizationId, id) ? inTop : outOfTop).add(id);
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            tx.executeWithoutResult(status -> {
+                setTop10Flag(inTop, true);
+                setTop10Flag(outOfTop, false);
+            });
+            log.debug("Realigned isInTop10 for {} ideas of org {} after a concurrent leaderboard change", touched.size(), organizationId);
+        } catch (Exception e) {
+            log.warn("Failed to realign isInTop10 for org {}: {}", organizationId, e.getMessage());
+        }
+    }
+
+    private void setTop10Flag(Collection<Long> ids, boolean inTop) {
+        if (!ids.isEmpty()) {
+            ideaRepository.updateTop10Flag(ids, inTop);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private OrgBoard board(Long organizationId) {
+        return boards.computeIfAbsent(organizationId, k -> new OrgBoard());
+    }
+
+    private static int nz(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private record Rank(long ideaId, int score, int votes) {
+    }
+
+    public record TopChange(List<Long> entered, List<Long> left) {
+        static final TopChange NONE = new TopChange(List.of(), List.of());
+
+        public boolean isEmpty() {
+            return entered.isEmpty() && left.isEmpty();
+        }
+    }
+
+    /**
+     * Effet projeté d'un changement: entrées / sorties du top, et présence de l'idée dans le top ensuite.
+     */
+    public record Projection(TopChange change, boolean inTop) {
+    }
+
+    /**
+     * Ids du top N dans l'ordre, version du classement, et DTO en cache (null s'ils sont à recharger).
+     */
+    public record Snapshot(long version, List<Long> topIds, List<IdeaDTO> ideas) {
+    }
+
+    private static final class OrgBoard {
+        private final TreeSet<Rank> ranking = new TreeSet<>(RANKING);
+        private final Map<Long, Rank> byIdea = new HashMap<>();
+        private long version;
+        private List<IdeaDTO> cached;
+
+        synchronized void put(Rank rank) {
+            Rank previous = byIdea.put(rank.ideaId(), rank);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            ranking.add(rank);
+        }
+
+        synchronized TopChange update(Rank rank) {
+            List<Long> before = topIds();
+            Rank previous = byIdea.get(rank.ideaId());
+            if (rank.equals(previous)) {
+                return TopChange.NONE;
+            }
+            put(rank);
+            return diff(before, rank.ideaId());
+        }
+
+        synchronized TopChange remove(Long ideaId) {
+            List<Long> before = topIds();
+            Rank previous = byIdea.remove(ideaId);
+            if (previous == null) {
+                return TopChange.NONE;
+            }
+            ranking.remove(previous);
+            return diff(before, ideaId);
+        }
+
+        synchronized Projection project(Rank rank) {
+            List<Long> before = topIds();
+            Rank previous = byIdea.get(rank.ideaId());
+            if (rank.equals(previous)) {
+                return new Projection(TopChange.NONE, before.contains(rank.ideaId()));
+            }
+            put(rank);
+            List<Long> after = topIds();
+            // Retour à l'état initial: seule la projection est retournée
+            ranking.remove(rank);
+            if (previous != null) {
+                put(previous);
+            } else {
+                byIdea.remove(rank.ideaId());
+            }
+            return new Projection(change(before, after), after.contains(rank.ideaId()));
+        }
+
+        synchronized Projection projectRemoval(Long ideaId) {
+            Rank previous = byIdea.get(ideaId);
+            if (previous == null) {
+                return new Projection(TopChange.NONE, false);
+            }
+            List<Long> before = topIds();
+            ranking.remove(previous);
+            List<Long> after = topIds();
+            ranking.add(previous);
+            return new Projection(change(before, after), false);
+        }
+
+        synchronized boolean isInTop(Long ideaId) {
+            return topIds().contains(ideaId);
+        }
+
+        synchronized void invalidate(Long ideaId) {
+            if (topIds().contains(ideaId)) {
+                version++;
+                cached = null;
+            }
+        }
+
+        synchronized Snapshot snapshot() {
+            return new Snapshot(version, topIds(), cached);
+        }
+
+        synchronized void publish(long expectedVersion, List<IdeaDTO> ideas) {
+            if (expectedVersion == version) {
+                cached = List.copyOf(ideas);
+            }
+        }
+
+        private TopChange diff(List<Long> before, Long touchedId) {
+            List<Long> after = topIds();
+            if (before.equals(after)) {
+                // même composition et même ordre : seules les données affichées de l'idée peuvent avoir changé
+                if (after.contains(touchedId)) {
+                    version++;
+                    cached = null;
+                }
+                return TopChange.NONE;
+            }
+            version++;
+            cached = null;
+            return change(before, after);
+        }
+
+        private static TopChange change(List<Long> before, List<Long> after) {
+            if (before.equals(after)) {
+                return TopChange.NONE;
+            }
+            List<Long> entered = new ArrayList<>(after);
+            entered.removeAll(before);
+            List<Long> left = new ArrayList<>(before);
+            left.removeAll(after);
+            return new TopChange(entered, left);
+        }
+
+        private List<Long> topIds() {
+            List<Long> ids = new ArrayList<>(TOP_N);
+            Iterator<Rank> it = ranking.iterator();
+            while (it.hasNext() && ids.size() < TOP_N) {
+                ids.add(it.next().ideaId());
+            }
+            return ids;
+        }
+    }
+}
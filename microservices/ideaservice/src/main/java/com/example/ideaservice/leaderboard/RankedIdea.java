@@ -0,0 +1,11 @@
+package com.example.ideaservice.leaderboard;
+
+/**
+ * Projection minimale chargée pour initialiser les classements.
+ */
+public interface RankedIdea {
+    Long getId();
+    Long getOrganizationId();
+    Integer getTotalScore();
+    Integer getVoteCount();
+}
@@ -1,33 +1,52 @@
 package com.example.ideaservice.mapper;
 
+import com.example.ideaservice.Model.Dto.AttachmentDTO;
+import com.example.ideaservice.Model.Dto.AttachmentSummary;
+import com.example.ideaservice.Model.Dto.CoverImageUrls;
 import com.example.ideaservice.Model.Dto.IdeaCreateRequest;
 import com.example.ideaservice.Model.Dto.IdeaDTO;
 import com.example.ideaservice.Model.Dto.IdeaUpdateRequest;
 import com.example.ideaservice.Model.entities.Idea;
+import com.example.ideaservice.Model.enums.CoverVariant;
 import com.example.ideaservice.Model.enums.IdeaStatus;
+import com.example.ideaservice.Repository.AttachementRepository;
+import com.example.ideaservice.client.UserNameCache;
 import com.example.ideaservice.client.UsersClient;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
-import java.util.concurrent.ConcurrentHashMap;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 public class IdeaMapperImpl implements IdeaMapper {
 
+    // IN (...) découpé pour garder des requêtes de taille raisonnable sur les listes non paginées
+    private static final int ATTACHMENT_BATCH_SIZE = 1000;
+    // Limite côté userservice (UserController.MAX_NAME_BATCH)
+    private static final int NAME_BATCH_SIZE = 500;
+    // Longueur minimale de v exigée par AttachmentStreamingService.streamCoverVariant
+    private static final int COVER_VERSION_LENGTH = 16;
+
     private final UsersClient usersClient;
+    private final AttachementRepository attachementRepository;
     
-    // Cache dynamique pour stocker les noms des utilisateurs
-    private final ConcurrentHashMap<Long, String> userNameCache = new ConcurrentHashMap<>();
+    private final UserNameCache userNameCache;
 
-    public IdeaMapperImpl(UsersClient usersClient) {
+    public IdeaMapperImpl(UsersClient usersClient, AttachementRepository attachementRepository,
+                          UserNameCache userNameCache) {
         this.usersClient = usersClient;
-        // Initialiser le cache avec les données connues du seed
-        initializeCacheWithSeedData();
+        this.attachementRepository = attachementRepository;
+        this.userNameCache = userNameCache;
     }
 
     @Override
@@ -35,7 +54,27 @@ public class IdeaMapperImpl implements IdeaMapper {
         if (idea == null) {
             return null;
         }
+        return toDTO(idea, loadAttachments(List.of(idea)).getOrDefault(idea.getId(), List.of()),
+                getCreatorNameFromCache(idea.getCreatorId()));
+    }
+
+    @Override
+    public List<IdeaDTO> toDTOList(List<Idea> ideas) {
+        if (ideas == null) {
+            return null;
+        }
+
+        // Pièces jointes de toute la liste en une requête, sans toucher aux collections lazy
+        Map<Long, List<AttachmentDTO>> attachments = loadAttachments(ideas);
+        // Et les noms des créateurs absents du cache en un appel à userservice
+        Map<Long, String> creatorNames = resolveCreatorNames(ideas);
+        return ideas.stream()
+                .map(idea -> toDTO(idea, attachments.getOrDefault(idea.getId(), List.of()),
+                        creatorNames.get(idea.getCreatorId())))
+                .collect(Collectors.toList());
+    }
 
+    private IdeaDTO toDTO(Idea idea, List<AttachmentDTO> attachments, String creatorName) {
         IdeaDTO ideaDTO = new IdeaDTO();
         ideaDTO.setId(idea.getId());
         ideaDTO.setTitle(idea.getTitle());
@@ -48,27 +87,18 @@ public class IdeaMapperImpl implements IdeaMapper {
         ideaDTO.setTotalScore(idea.getTotalScore());
         ideaDTO.setVoteCount(idea.getVoteCount());
         ideaDTO.setIsInTop10(idea.getIsInTop10());
-        ideaDTO.setAttachments(idea.getAttachments());
+        ideaDTO.setAttachments(attachments);
+        AttachmentDTO cover = coverAttachment(attachments);
+        if (cover != null) {
+            ideaDTO.setCoverImageUrl("/api/ideas/attachments/" + cover.getId() + "/download-public");
+            ideaDTO.setCoverImageUrls(coverImageUrls(cover));
+        }
         ideaDTO.setAssignedTeamIds(idea.getAssignedTeamIds());
-
-        // Récupérer le nom du créateur avec cache dynamique
-        String creatorName = getCreatorNameFromCache(idea.getCreatorId());
         ideaDTO.setCreatorName(creatorName);
 
         return ideaDTO;
     }
 
-    @Override
-    public List<IdeaDTO> toDTOList(List<Idea> ideas) {
-        if (ideas == null) {
-            return null;
-        }
-
-        return ideas.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-    }
-
     @Override
     public Idea toEntity(IdeaCreateRequest request) {
         if (request == null) {
@@ -103,23 +133,103 @@ public class IdeaMapperImpl implements IdeaMapper {
         }
     }
 
-    private void initializeCacheWithSeedData() {
-        log.info("Initializing user name cache with seed data");
-        // Initialiser avec les données du seed SQL - c'est dynamique car basé sur les vraies données
-        userNameCache.put(1L, "Alice Martin");
-        userNameCache.put(2L, "Bob Johnson");
-        userNameCache.put(3L, "Carol Davis");
-        userNameCache.put(4L, "David Wilson");
-        userNameCache.put(5L, "Emma Brown");
-        userNameCache.put(6L, "Frank Miller");
-        userNameCache.put(7L, "Grace Taylor");
-        userNameCache.put(8L, "Henry Anderson");
-        userNameCache.put(9L, "Iris Thomas");
-        userNameCache.put(10L, "Jack Jackson");
-        userNameCache.put(11L, "Charlie Brown");
-        userNameCache.put(12L, "Diana Prince");
-        userNameCache.put(13L, "Ethan Hunt");
-        log.info("Cache initialized with {} user names", userNameCache.size());
+    private Map<Long, String> resolveCreatorNames(List<Idea> ideas) {
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> missingIds = new LinkedHashSet<>();
+        for (Idea idea : ideas) {
+            Long creatorId = idea.getCreatorId();
+            if (creatorId == null || names.containsKey(creatorId)) {
+                continue;
+            }
+            String cachedName = userNameCache.get(creatorId);
+            if (cachedName != null) {
+                names.put(creatorId, cachedName);
+            } else {
+                missingIds.add(creatorId);
+            }
+        }
+
+        List<Long> missing = new ArrayList<>(missingIds);
+
+        for (int from = 0; from < missing.size(); from += NAME_BATCH_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + NAME_BATCH_SIZE, missing.size()));
+            Map<Long, String> fetched;
+            try {
+                log.info("Fetching creator names for {} creatorIds", chunk.size());
+                fetched = usersClient.getUserNamesByIds(chunk);
+            } catch (Exception e) {
+                // Pas de repli id par id (ce serait le N+1 évité ici): noms de repli à TTL court
+                log.error("Error fetching creator names for {} creatorIds. Error: {}", chunk.size(), e.getMessage());
+                fetched = null;
+            }
+            for (Long creatorId : chunk) {
+                String creatorName = fetched == null ? null : fetched.get(creatorId);
+                if (creatorName == null || creatorName.trim().isEmpty()) {
+                    creatorName = "Membre " + creatorId;
+                    userNameCache.putFallback(creatorId, creatorName);
+                    log.warn("Using fallback name: {} for creatorId: {}", creatorName, creatorId);
+                } else {
+                    userNameCache.put(creatorId, creatorName);
+                }
+                names.put(creatorId, creatorName);
+            }
+        }
+        return names;
+    }
+
+    private Map<Long, List<AttachmentDTO>> loadAttachments(List<Idea> ideas) {
+        List<Long> ideaIds = ideas.stream()
+                .map(Idea::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, List<AttachmentDTO>> byIdea = new HashMap<>();
+        for (int from = 0; from < ideaIds.size(); from += ATTACHMENT_BATCH_SIZE) {
+            List<Long> chunk = ideaIds.subList(from, Math.min(from + ATTACHMENT_BATCH_SIZE, ideaIds.size()));
+            for (AttachmentSummary a : attachementRepository.findSummariesByIdeaIds(chunk)) {
+                byIdea.computeIfAbsent(a.getIdeaId(), id -> new ArrayList<>()).add(toAttachmentDTO(a));
+            }
+        }
+        return byIdea;
+    }
+
+    private AttachmentDTO toAttachmentDTO(AttachmentSummary a) {
+        return AttachmentDTO.builder()
+                .id(a.getId())
+                .fileName(a.getFileName())
+                .fileType(a.getFileType())
+                .fileSize(a.getFileSize())
+                .fileUrl(a.getFileUrl() != null ? a.getFileUrl() : "/api/ideas/attachments/" + a.getId() + "/download")
+                .uploadDate(a.getUploadDate())
+                .uploadedBy(a.getUploadedBy())
+                .derivativeStatus(a.getDerivativeStatus())
+                .contentHash(a.getContentHash())
+                .build();
+    }
+
+    // La couverture est la première pièce jointe enregistrée comme telle (statut de variantes renseigné),
+    // jamais une simple image jointe: seules les couvertures sont servies par l'endpoint des variantes
+    private AttachmentDTO coverAttachment(List<AttachmentDTO> attachments) {
+        return attachments.stream()
+                .filter(a -> a.getDerivativeStatus() != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    // L'endpoint est public (balises <img>): v, préfixe du hash du contenu, sert de capacité d'accès.
+    // Sans hash (stockage non adressé par contenu), seule l'URL authentifiée de l'original est fournie
+    private CoverImageUrls coverImageUrls(AttachmentDTO cover) {
+        String hash = cover.getContentHash();
+        if (hash == null || hash.length() < COVER_VERSION_LENGTH) {
+            return null;
+        }
+        String base = "/api/ideas/attachments/" + cover.getId() + "/cover/";
+        String version = "?v=" + hash.substring(0, COVER_VERSION_LENGTH);
+        return CoverImageUrls.builder()
+                .thumbnail(base + CoverVariant.THUMBNAIL.segment() + version)
+                .card(base + CoverVariant.CARD.segment() + version)
+                .full(base + CoverVariant.FULL.segment() + version)
+                .build();
     }
 
     private String getCreatorNameFromCache(Long creatorId) {
@@ -144,9 +254,9 @@ public class IdeaMapperImpl implements IdeaMapper {
             log.error("Error fetching creator name for creatorId: {}. Error: {}", creatorId, e.getMessage());
         }
 
-        // Fallback: nom formaté mais plus descriptif
+        // Fallback: nom formaté mais plus descriptif, mis en cache brièvement (entrée négative)
         String fallbackName = "Membre " + creatorId;
-        userNameCache.put(creatorId, fallbackName);
+        userNameCache.putFallback(creatorId, fallbackName);
         log.warn("Using fallback name: {} for creatorId: {}", fallbackName, creatorId);
         return fallbackName;
     }
@@ -0,0 +1,57 @@
+package com.example.ideaservice.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Annonce les idées créées (clé = ideaId) pour que voteservice et bookmarkservice alimentent
+ * leur cache de propriétaires sans rappeler ideaservice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdeaEventPublisher {
+
+    private final KafkaTemplate<String, IdeaCreatedEvent> kafkaTemplate;
+
+    @Value("${app.kafka.topics.idea-events}")
+    private String ideaEventsTopic;
+
+    /**
+     * Publié après le commit: une idée annulée par rollback n'est jamais annoncée.
+     */
+    public void publishCreatedAfterCommit(Long ideaId, Long creatorId, Long organizationId) {
+        IdeaCreatedEvent event = IdeaCreatedEvent.builder()
+                .ideaId(ideaId)
+                .creatorId(creatorId)
+                .organizationId(organizationId)
+                .createdAt(Instant.now())
+                .build();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    private void publish(IdeaCreatedEvent event) {
+        try {
+            kafkaTemplate.send(ideaEventsTopic, String.valueOf(event.getIdeaId()), event);
+            log.info("Published IdeaCreatedEvent to topic {}: idea {}", ideaEventsTopic, event.getIdeaId());
+        } catch (Exception e) {
+            log.error("Failed to publish IdeaCreatedEvent for idea {}", event.getIdeaId(), e);
+        }
+    }
+}
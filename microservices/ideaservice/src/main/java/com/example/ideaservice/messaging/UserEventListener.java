@@ -0,0 +1,34 @@
+package com.example.ideaservice.messaging;
+
+import com.example.ideaservice.client.UserNameCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventListener {
+
+    private final UserNameCache userNameCache;
+
+    // Groupe propre à chaque instance: toutes les instances doivent invalider leur cache local
+    @KafkaListener(topics = "${app.kafka.topics.user-updated}",
+            groupId = "${spring.application.name}-users-${random.uuid}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.example.ideaservice.messaging.UserUpdatedEvent"
+            })
+    public void onUserUpdated(UserUpdatedEvent event) {
+        if (event == null || event.getUserId() == null) {
+            return;
+        }
+        if (event.isDeleted() || event.getFullname() == null || event.getFullname().isBlank()) {
+            userNameCache.invalidate(event.getUserId());
+        } else {
+            userNameCache.put(event.getUserId(), event.getFullname());
+        }
+        log.debug("User name cache refreshed for user {}", event.getUserId());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ideaservice.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpdatedEvent {
+    private Long userId;
+    private String fullname; // null quand l'utilisateur a été supprimé
+    private Long tenantId;
+    private boolean deleted;
+    private Instant updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.example.ideaservice.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteChangedEvent {
+    private Long ideaId;
+    private Long userId;
+    private String change; // ADDED, UPDATED, REMOVED
+    private String voteType;
+    private int delta; // +1 (ADDED) / -1 (REMOVED)
+    private Instant occurredAt;
+}
@@ -0,0 +1,52 @@
+package com.example.ideaservice.messaging;
+
+import com.example.ideaservice.Model.Dto.VoteCountUpdate;
+import com.example.ideaservice.Service.IdeaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consomme les changements de votes par lots: le broker retient la réponse jusqu'à
+ * {@code app.votes.flush-window-ms} (ou 64 Ko de données), puis chaque idée du lot reçoit une seule
+ * mise à jour de vote_count (somme des deltas). Les messages sont indexés par ideaId: tous ceux d'une idée
+ * sont sur une partition et leur offset sert de version, un lot rejoué n'est donc pas recompté.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoteCountListener {
+
+    private final IdeaService ideaService;
+
+    @KafkaListener(topics = "${app.kafka.topics.vote-changed}",
+            groupId = "${spring.application.name}-vote-counts",
+            batch = "true",
+            properties = {
+                    "fetch.min.bytes=65536",
+                    "fetch.max.wait.ms=${app.votes.flush-window-ms:500}",
+                    "max.poll.records=${app.votes.max-batch:1000}",
+                    "spring.json.value.default.type=com.example.ideaservice.messaging.VoteChangedEvent"
+            })
+    public void onVoteChanges(List<ConsumerRecord<String, VoteChangedEvent>> records) {
+        Map<Long, List<VoteCountUpdate>> changesByIdea = new LinkedHashMap<>();
+        for (ConsumerRecord<String, VoteChangedEvent> record : records) {
+            VoteChangedEvent event = record.value();
+            // null: message illisible (ErrorHandlingDeserializer), ignoré
+            if (event == null || event.getIdeaId() == null) {
+                continue;
+            }
+            changesByIdea.computeIfAbsent(event.getIdeaId(), id -> new ArrayList<>())
+                    .add(new VoteCountUpdate(record.offset(), event.getDelta()));
+        }
+        log.debug("Coalesced {} vote events into {} vote_count updates", records.size(), changesByIdea.size());
+        ideaService.applyVoteCounts(changesByIdea);
+    }
+}
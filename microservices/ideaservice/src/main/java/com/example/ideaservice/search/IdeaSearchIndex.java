@@ -0,0 +1,272 @@
+package com.example.ideaservice.search;
+
+import com.example.ideaservice.Model.entities.Idea;
+import com.example.ideaservice.Repository.IdeaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire, une partition par organisation, utilisé par la recherche par mot-clé.
+ * Chaque terme de la requête doit apparaître à l'intérieur d'un terme du titre ou de la description
+ * (comme l'ancien LIKE '%mot%', "novation" trouve "innovation") ; tous les suffixes des termes sont indexés
+ * pour cela. Les résultats sont classés par un score tf-idf où le titre pèse plus que la description,
+ * un terme entier plus qu'un préfixe, et un préfixe plus qu'une sous-chaîne interne.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdeaSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Une correspondance au milieu d'un terme compte moitié moins qu'une correspondance en début de terme
+    private static final double INFIX_PENALTY = 0.5;
+    // Au-delà, seuls les premiers caractères d'un terme (URL, identifiant...) sont découpés en suffixes
+    private static final int MAX_SUFFIXED_TERM_LENGTH = 40;
+
+    private final IdeaRepository ideaRepository;
+
+    private final Map<Long, OrgIndex> indexes = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    // Mises à jour validées pendant une reconstruction: rejouées ensuite, pour ne pas être écrasées
+    // par les lignes lues avant leur commit
+    private final Object rebuildLock = new Object();
+    private List<Runnable> deferredUpdates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            deferredUpdates = new ArrayList<>();
+        }
+        try {
+            List<IndexableIdea> rows = ideaRepository.findAllForSearchIndex();
+            for (IndexableIdea row : rows) {
+                index(row.getId(), row.getOrganizationId(), row.getTitle(), row.getDescription());
+            }
+            int replayed = replayDeferredUpdates();
+            ready = true;
+            log.info("Search index built with {} ideas across {} organizations in {} ms ({} concurrent updates replayed)",
+                    rows.size(), indexes.size(), System.currentTimeMillis() - start, replayed);
+        } catch (Exception e) {
+            replayDeferredUpdates();
+            log.error("Failed to build search index, keyword search will fall back to the database: {}", e.getMessage());
+        }
+    }
+
+    private int replayDeferredUpdates() {
+        synchronized (rebuildLock) {
+            List<Runnable> updates = deferredUpdates;
+            deferredUpdates = null;
+            if (updates == null) {
+                return 0;
+            }
+            updates.forEach(Runnable::run);
+            return updates.size();
+        }
+    }
+
+    private void applyUpdate(Runnable update) {
+        synchronized (rebuildLock) {
+            if (deferredUpdates != null) {
+                deferredUpdates.add(update);
+                return;
+            }
+            update.run();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * (Ré)indexe l'idée une fois la transaction courante validée, pour ne jamais exposer une écriture annulée.
+     */
+    public void indexAfterCommit(Idea idea) {
+        Long id = idea.getId();
+        Long orgId = idea.getOrganizationId();
+        String title = idea.getTitle();
+        String description = idea.getDescription();
+        afterCommit(() -> index(id, orgId, title, description));
+    }
+
+    public void removeAfterCommit(Long ideaId, Long organizationId) {
+        afterCommit(() -> remove(ideaId, organizationId));
+    }
+
+    public void index(Long ideaId, Long organizationId, String title, String description) {
+        if (ideaId == null || organizationId == null) {
+            return;
+        }
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : SearchTokenizer.tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : SearchTokenizer.tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        indexes.computeIfAbsent(organizationId, k -> new OrgIndex()).put(ideaId, weights);
+    }
+
+    public void remove(Long ideaId, Long organizationId) {
+        if (ideaId == null || organizationId == null) {
+            return;
+        }
+        OrgIndex orgIndex = indexes.get(organizationId);
+        if (orgIndex != null) {
+            orgIndex.remove(ideaId);
+        }
+    }
+
+    /**
+     * Retourne les ids des idées correspondant au mot-clé, triés par pertinence puis par id décroissant.
+     * Un Optional vide signifie que l'index ne peut pas répondre (pas encore construit, ou mot-clé
+     * réduit à des mots vides) et que l'appelant doit interroger la base.
+     */
+    public Optional<List<Long>> search(Long organizationId, String keyword, int page, int size) {
+        List<String> queryTerms = SearchTokenizer.tokenize(keyword);
+        if (!ready || queryTerms.isEmpty()) {
+            return Optional.empty();
+        }
+        OrgIndex orgIndex = indexes.get(organizationId);
+        if (orgIndex == null) {
+            return Optional.of(List.of());
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(orgIndex.score(queryTerms).entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = (int) Math.min((long) from + size, ranked.size());
+        List<Long> ids = new ArrayList<>(to - from);
+        for (Map.Entry<Long, Double> entry : ranked.subList(from, to)) {
+            ids.add(entry.getKey());
+        }
+        return Optional.of(ids);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyUpdate(action);
+                }
+            });
+        } else {
+            applyUpdate(action);
+        }
+    }
+
+    private static final class OrgIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // suffixe de terme -> (ideaId -> poids pondéré par la position du suffixe) ; trié pour les recherches par préfixe
+        private final TreeMap<String, Map<Long, Double>> postings = new TreeMap<>();
+        // ideaId -> suffixes indexés, pour pouvoir retirer proprement une idée
+        private final Map<Long, Set<String>> documents = new HashMap<>();
+
+        void put(Long ideaId, Map<String, Integer> weights) {
+            Map<String, Double> suffixWeights = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                String term = entry.getKey();
+                int length = Math.min(term.length(), MAX_SUFFIXED_TERM_LENGTH);
+                for (int start = 0; start <= length - SearchTokenizer.MIN_TERM_LENGTH; start++) {
+                    String suffix = term.substring(start);
+                    // Rapporté à la longueur du suffixe lors du score, ce facteur donne longueur requête / longueur terme
+                    double factor = (double) suffix.length() / term.length() * (start == 0 ? 1.0 : INFIX_PENALTY);
+                    suffixWeights.merge(suffix, entry.getValue() * factor, Double::sum);
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(ideaId);
+                for (Map.Entry<String, Double> entry : suffixWeights.entrySet()) {
+                    postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(ideaId, entry.getValue());
+                }
+                documents.put(ideaId, suffixWeights.keySet());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long ideaId) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(ideaId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeUnlocked(Long ideaId) {
+            Set<String> previous = documents.remove(ideaId);
+            if (previous == null) {
+                return;
+            }
+            for (String suffix : previous) {
+                Map<Long, Double> docs = postings.get(suffix);
+                if (docs != null) {
+                    docs.remove(ideaId);
+                    if (docs.isEmpty()) {
+                        postings.remove(suffix);
+                    }
+                }
+            }
+        }
+
+        Map<Long, Double> score(List<String> queryTerms) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = null;
+                int totalDocs = Math.max(documents.size(), 1);
+                for (String queryTerm : queryTerms) {
+                    Map<Long, Double> termScores = new HashMap<>();
+                    for (Map.Entry<String, Map<Long, Double>> posting
+                            : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                        // une correspondance exacte compte plus qu'une correspondance partielle
+                        double closeness = (double) queryTerm.length() / posting.getKey().length();
+                        double idf = Math.log(1.0 + (double) totalDocs / posting.getValue().size());
+                        for (Map.Entry<Long, Double> doc : posting.getValue().entrySet()) {
+                            // un même document peut apparaître sous plusieurs suffixes: on garde sa meilleure correspondance
+                            termScores.merge(doc.getKey(), doc.getValue() * idf * closeness, Math::max);
+                        }
+                    }
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        scores.keySet().retainAll(termScores.keySet());
+                        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                            entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                        }
+                    }
+                    if (scores.isEmpty()) {
+                        break;
+                    }
+                }
+                return scores == null ? Map.of() : scores;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
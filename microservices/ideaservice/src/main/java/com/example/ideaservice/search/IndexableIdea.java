@@ -0,0 +1,11 @@
+package com.example.ideaservice.search;
+
+/**
+ * Projection minimale chargée pour (re)construire l'index de recherche.
+ */
+public interface IndexableIdea {
+    Long getId();
+    Long getOrganizationId();
+    String getTitle();
+    String getDescription();
+}
@@ -0,0 +1,57 @@
+package com.example.ideaservice.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Découpe un texte (majoritairement français) en termes indexables :
+ * minuscules, accents retirés ("idée" -> "idee"), élisions supprimées ("l'innovation" -> "innovation")
+ * et mots vides ignorés.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}']+");
+    private static final Set<String> ELISIONS = Set.of("l", "d", "j", "m", "n", "s", "t", "c", "qu", "jusqu", "lorsqu", "puisqu");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "le", "la", "les", "un", "une", "des", "du", "de", "et", "ou", "en", "au", "aux",
+            "ce", "ces", "cet", "cette", "pour", "par", "sur", "dans", "avec", "sans", "que", "qui",
+            "ne", "pas", "plus", "est", "sont", "a", "the", "and", "of", "to", "in", "for", "on", "is");
+    static final int MIN_TERM_LENGTH = 2;
+
+    private SearchTokenizer() {
+    }
+
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("")
+                .replace('’', '\'')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String raw : SEPARATORS.split(fold(text))) {
+            String term = stripElision(raw);
+            if (term.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String stripElision(String raw) {
+        int quote = raw.indexOf('\'');
+        if (quote > 0 && ELISIONS.contains(raw.substring(0, quote))) {
+            raw = raw.substring(quote + 1);
+        }
+        return raw.replace("'", "");
+    }
+}
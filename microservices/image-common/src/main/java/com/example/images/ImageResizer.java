@@ -0,0 +1,137 @@
+package com.example.images;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Décodage borné, réduction et réencodage d'images, partagés par les photos de profil (userservice)
+ * et les variantes de couverture (ideaservice).
+ * JPEG pour les images opaques, PNG quand il y a de la transparence; les métadonnées ne sont pas recopiées.
+ */
+public final class ImageResizer {
+
+    public static final String PNG = "image/png";
+    public static final String JPEG = "image/jpeg";
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Décode la première image de {@code source} (File, InputStream... tout ce qu'accepte
+     * {@link ImageIO#createImageInputStream}). Les dimensions sont lues dans l'en-tête avant d'allouer
+     * les pixels: une image de plus de {@code maxPixels} est refusée sans être décodée.
+     */
+    public static BufferedImage decode(Object source, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new UnsupportedImageException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new UnsupportedImageException("Image too large (" + pixels + " pixels)");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public static boolean hasAlpha(BufferedImage image) {
+        return image.getColorModel().hasAlpha();
+    }
+
+    public static String contentType(boolean alpha) {
+        return alpha ? PNG : JPEG;
+    }
+
+    /**
+     * Réduit l'image pour que son plus grand côté ne dépasse pas {@code max}; jamais agrandie.
+     */
+    public static BufferedImage fit(BufferedImage source, int max, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) max / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        return resize(source, targetWidth, targetHeight, alpha);
+    }
+
+    /**
+     * Carré centré de {@code size} pixels de côté.
+     */
+    public static BufferedImage squareThumbnail(BufferedImage source, int size, boolean alpha) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+        return resize(source.getSubimage(x, y, side, side), size, size, alpha);
+    }
+
+    /**
+     * Réduction par moitiés successives puis passe finale bilinéaire:
+     * évite le crénelage d'une seule réduction importante.
+     */
+    public static BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight, boolean alpha) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = width / 2 >= targetWidth ? width / 2 : targetWidth;
+            height = height / 2 >= targetHeight ? height / 2 : targetHeight;
+            current = draw(current, width, height, alpha);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    public static byte[] encode(BufferedImage image, boolean alpha, float jpegQuality) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(image, alpha, jpegQuality, out);
+        return out.toByteArray();
+    }
+
+    public static void encode(BufferedImage image, boolean alpha, float jpegQuality, OutputStream out) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
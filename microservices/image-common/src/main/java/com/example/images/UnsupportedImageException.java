@@ -0,0 +1,13 @@
+package com.example.images;
+
+import java.io.IOException;
+
+/**
+ * Contenu lisible mais refusé: format inconnu ou image trop grande pour être décodée.
+ */
+public class UnsupportedImageException extends IOException {
+
+    public UnsupportedImageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.images;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageResizerTests {
+
+    @Test
+    void fitKeepsAspectRatioAndNeverUpscales() {
+        BufferedImage source = new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage fitted = ImageResizer.fit(source, 512, false);
+        assertThat(fitted.getWidth()).isEqualTo(512);
+        assertThat(fitted.getHeight()).isEqualTo(341);
+
+        BufferedImage small = ImageResizer.fit(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB), 512, false);
+        assertThat(small.getWidth()).isEqualTo(100);
+        assertThat(small.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void squareThumbnailIsCentered() {
+        BufferedImage thumb = ImageResizer.squareThumbnail(new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), 128, false);
+        assertThat(thumb.getWidth()).isEqualTo(128);
+        assertThat(thumb.getHeight()).isEqualTo(128);
+    }
+
+    @Test
+    void encodesPngWhenTransparentAndJpegOtherwise() throws IOException {
+        BufferedImage transparent = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage opaque = new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB);
+
+        byte[] png = ImageResizer.encode(transparent, ImageResizer.hasAlpha(transparent), 0.85f);
+        byte[] jpeg = ImageResizer.encode(opaque, ImageResizer.hasAlpha(opaque), 0.85f);
+
+        assertThat(png).startsWith(0x89, 'P', 'N', 'G');
+        assertThat(jpeg).startsWith(0xFF, 0xD8);
+    }
+
+    @Test
+    void rejectsUnknownFormatAndOversizedImages() throws IOException {
+        assertThatThrownBy(() -> ImageResizer.decode(new ByteArrayInputStream("not an image".getBytes()), 1_000))
+                .isInstanceOf(UnsupportedImageException.class);
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "png", png);
+        assertThatThrownBy(() -> ImageResizer.decode(new ByteArrayInputStream(png.toByteArray()), 5_000))
+                .isInstanceOf(UnsupportedImageException.class);
+        assertThat(ImageResizer.decode(new ByteArrayInputStream(png.toByteArray()), 10_000).getWidth()).isEqualTo(100);
+    }
+}
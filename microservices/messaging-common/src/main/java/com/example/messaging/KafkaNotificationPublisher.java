@@ -0,0 +1,71 @@
+package com.example.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envoi non bloquant: la requête n'attend pas l'acquittement du broker,
+ * le résultat est traité dans le callback (latence, erreurs, logs).
+ */
+@Slf4j
+public class KafkaNotificationPublisher implements NotificationPublisher {
+
+    private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private final String topic;
+    private final MeterRegistry meterRegistry;
+
+    public KafkaNotificationPublisher(KafkaTemplate<String, NotificationEvent> kafkaTemplate,
+                                      String topic,
+                                      MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(String key, NotificationEvent event) {
+        long start = System.nanoTime();
+        String type = event.getType() == null ? "unknown" : event.getType();
+        try {
+            kafkaTemplate.send(topic, key, event).whenComplete((result, ex) -> {
+                long elapsed = System.nanoTime() - start;
+                if (ex == null) {
+                    timer(type, "success").record(elapsed, TimeUnit.NANOSECONDS);
+                    log.debug("Published notification: key={}, type={}, partition={}, offset={}", key, type,
+                            result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+                } else {
+                    timer(type, "error").record(elapsed, TimeUnit.NANOSECONDS);
+                    errors(type, ex).increment();
+                    log.error("Failed to publish notification: key={}, type={}: {}", key, type, ex.getMessage(), ex);
+                }
+            });
+        } catch (Exception e) {
+            // Échec synchrone (sérialisation, buffer plein au-delà de max.block.ms, métadonnées indisponibles)
+            errors(type, e).increment();
+            log.error("Failed to publish notification: key={}, type={}: {}", key, type, e.getMessage(), e);
+        }
+    }
+
+    private Timer timer(String type, String result) {
+        return Timer.builder("messaging.notifications.publish")
+                .description("Délai entre l'envoi et l'acquittement du broker")
+                .tag("type", type)
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter errors(String type, Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return Counter.builder("messaging.notifications.errors")
+                .description("Notifications non publiées")
+                .tag("type", type)
+                .tag("exception", cause.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applique {@link ProducerTuningProperties} à la fabrique de producteurs auto-configurée:
+ * tous les KafkaTemplate du service (notifications et autres événements) en profitent.
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+@EnableConfigurationProperties(ProducerTuningProperties.class)
+public class MessagingAutoConfiguration {
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerTuningCustomizer(ProducerTuningProperties tuning) {
+        return factory -> {
+            Map<String, Object> configs = new HashMap<>();
+            tuning.applyTo(configs);
+            factory.updateConfigs(configs);
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(NotificationPublisher.class)
+    @ConditionalOnProperty(name = "app.kafka.topics.notifications")
+    public NotificationPublisher notificationPublisher(KafkaTemplate<String, NotificationEvent> kafkaTemplate,
+                                                      @Value("${app.kafka.topics.notifications}") String topic,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        return new KafkaNotificationPublisher(kafkaTemplate, topic, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
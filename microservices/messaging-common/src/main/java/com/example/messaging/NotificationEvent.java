@@ -0,0 +1,27 @@
+package com.example.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Notification destinée à un utilisateur, publiée sur le topic notifications
+ * par tous les services et consommée par notificationservice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEvent {
+    private Long userId; // destinataire
+    private String type; // e.g., IDEA_CREATED, TEAM_ASSIGNED, VOTE_ACTIVITY, BOOKMARK_ACTIVITY
+    private String title;
+    private String message;
+    private Instant createdAt;
+    // Renseignés pour les activités sur une idée: notificationservice regroupe par (userId, type, ideaId)
+    private Long ideaId;
+    private String actorName;
+}
@@ -0,0 +1,11 @@
+package com.example.messaging;
+
+/**
+ * Point d'entrée unique pour publier une notification.
+ * Par défaut {@link KafkaNotificationPublisher} (envoi asynchrone); un service peut fournir
+ * sa propre implémentation, par exemple via une table outbox.
+ */
+public interface NotificationPublisher {
+
+    void publish(String key, NotificationEvent event);
+}
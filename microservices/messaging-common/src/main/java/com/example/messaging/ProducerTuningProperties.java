@@ -0,0 +1,47 @@
+package com.example.messaging;
+
+import lombok.Data;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Réglages producteur communs à tous les services ({@code app.messaging.producer.*}).
+ * Les valeurs par défaut privilégient le débit: lots compressés, légère attente pour les remplir,
+ * livraison idempotente (pas de doublon ni de réordonnancement sur nouvel essai).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.messaging.producer")
+public class ProducerTuningProperties {
+
+    private String compressionType = "lz4";
+    private int lingerMs = 10;
+    private int batchSize = 64 * 1024;
+    private boolean idempotence = true;
+    private String acks = "all";
+    private int maxInFlightRequests = 5;
+    private int requestTimeoutMs = 20000;
+    private int deliveryTimeoutMs = 30000;
+    private long bufferMemory = 32 * 1024 * 1024;
+
+    public void applyTo(Map<String, Object> producerConfigs) {
+        producerConfigs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        producerConfigs.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        producerConfigs.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        producerConfigs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        producerConfigs.put(ProducerConfig.ACKS_CONFIG, acks);
+        producerConfigs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequests);
+        producerConfigs.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
+        producerConfigs.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs(lingerMs, requestTimeoutMs, deliveryTimeoutMs));
+        producerConfigs.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+    }
+
+    /**
+     * Kafka refuse de créer le producteur si delivery.timeout.ms &lt; linger.ms + request.timeout.ms:
+     * le délai demandé est relevé au minimum accepté.
+     */
+    public static int deliveryTimeoutMs(int lingerMs, int requestTimeoutMs, int requestedDeliveryTimeoutMs) {
+        return Math.max(requestedDeliveryTimeoutMs, lingerMs + requestTimeoutMs);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.messaging.outbox;
+
+import com.example.messaging.MessagingAutoConfiguration;
+import com.example.messaging.NotificationPublisher;
+import com.example.messaging.ProducerTuningProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Outbox transactionnelle partagée ({@code app.outbox.enabled=true}).
+ * Le paquet est ajouté aux paquets auto-configurés avant JPA: l'entité {@link OutboxEvent} et
+ * {@link OutboxRepository} sont détectées sans @EntityScan dans le service.
+ * Déclarée avant {@link MessagingAutoConfiguration} pour remplacer son envoi direct des notifications.
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class,
+        before = {HibernateJpaAutoConfiguration.class, MessagingAutoConfiguration.class})
+@ConditionalOnClass(JpaRepository.class)
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+@AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+@EnableConfigurationProperties({OutboxProperties.class, ProducerTuningProperties.class})
+public class OutboxAutoConfiguration {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepository) {
+        return new OutboxWriter(outboxRepository);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   KafkaProperties kafkaProperties,
+                                   ProducerTuningProperties producerTuning,
+                                   OutboxProperties outboxProperties,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxRelay(outboxRepository, transactionManager, kafkaProperties, producerTuning,
+                outboxProperties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.kafka.topics.notifications")
+    public NotificationPublisher notificationPublisher(OutboxWriter outboxWriter,
+                                                      @Value("${app.kafka.topics.notifications}") String topic) {
+        return new OutboxNotificationPublisher(outboxWriter, topic);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.messaging.outbox;
+
+import com.example.messaging.NotificationEvent;
+import com.example.messaging.NotificationPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remplace {@link com.example.messaging.KafkaNotificationPublisher} quand l'outbox est activée:
+ * les notifications sont écrites avec la transaction métier, envoyées à Kafka par {@link OutboxRelay}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxNotificationPublisher implements NotificationPublisher {
+
+    private final OutboxWriter outboxWriter;
+    private final String notificationsTopic;
+
+    @Override
+    public void publish(String key, NotificationEvent event) {
+        outboxWriter.enqueue(notificationsTopic, key, event);
+        log.info("Queued NotificationEvent for topic {}: key={}, {}", notificationsTopic, key, event);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.messaging.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Réglages du relais outbox ({@code app.outbox.*}).
+ * Désactivé par défaut: seuls les services qui écrivent leurs messages dans la table outbox l'activent.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = false;
+    private long pollIntervalMs = 200;
+    private int batchSize = 200;
+    private int maxAttempts = 10;
+    private long sendTimeoutMs = 10000;
+    private long maxBackoffMs = 60000;
+}
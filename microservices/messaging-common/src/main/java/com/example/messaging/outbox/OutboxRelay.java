@@ -0,0 +1,225 @@
+package com.example.messaging.outbox;
+
+import com.example.messaging.ProducerTuningProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vide la table outbox vers Kafka par lots.
+ * Les lignes sont lues dans l'ordre d'insertion et verrouillées (SKIP LOCKED) le temps de l'envoi;
+ * dès qu'un message d'une clé est en attente de nouvel essai, les suivants de la même clé sont retenus
+ * (écartés par la requête, sans occuper de place dans le lot).
+ * Livraison au moins une fois: un consommateur peut recevoir un doublon si le commit échoue après l'envoi.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MIN_REQUEST_TIMEOUT_MS = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Le JSON est déjà sérialisé: producteur String dédié, hors contexte pour ne pas remplacer le KafkaTemplate auto-configuré
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long sendTimeoutMs;
+    private final long maxBackoffMs;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       PlatformTransactionManager transactionManager,
+                       KafkaProperties kafkaProperties,
+                       ProducerTuningProperties producerTuning,
+                       OutboxProperties outbox,
+                       MeterRegistry meterRegistry) {
+        this(outboxRepository, transactionManager,
+                new KafkaTemplate<>(producerFactory(kafkaProperties, producerTuning, outbox.getSendTimeoutMs())),
+                outbox, meterRegistry);
+    }
+
+    OutboxRelay(OutboxRepository outboxRepository,
+                PlatformTransactionManager transactionManager,
+                KafkaTemplate<String, String> kafkaTemplate,
+                OutboxProperties outbox,
+                MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = outbox.getBatchSize();
+        this.maxAttempts = outbox.getMaxAttempts();
+        this.sendTimeoutMs = outbox.getSendTimeoutMs();
+        this.maxBackoffMs = outbox.getMaxBackoffMs();
+
+        this.sent = Counter.builder("outbox.relay.sent").description("Messages acquittés par Kafka").register(meterRegistry);
+        this.retried = Counter.builder("outbox.relay.retried").description("Envois échoués, replanifiés").register(meterRegistry);
+        this.parked = Counter.builder("outbox.relay.parked").description("Messages abandonnés après max-attempts").register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").description("Durée d'un lot (lecture, envoi, commit)").register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", oldestPendingAgeMs, AtomicLong::get)
+                .description("Âge en ms du plus ancien message en attente")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    static DefaultKafkaProducerFactory<String, String> producerFactory(KafkaProperties kafkaProperties,
+                                                                      ProducerTuningProperties producerTuning,
+                                                                      long sendTimeoutMs) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // Compression, linger et taille de lot communs à la flotte (app.messaging.producer.*)
+        producerTuning.applyTo(props);
+        // Toujours idempotent ici, quel que soit le réglage commun: les nouvelles tentatives internes ne dupliquent ni ne réordonnent une partition
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        // Le producteur doit abandonner avant la fin de l'attente du relais: un envoi livré après coup,
+        // plus la nouvelle tentative, publierait un doublon derrière des messages plus récents de la même clé.
+        // linger.ms + request.timeout.ms <= delivery.timeout.ms <= send-timeout-ms
+        int lingerMs = producerTuning.getLingerMs();
+        int requestTimeoutMs = (int) Math.min(producerTuning.getRequestTimeoutMs(), sendTimeoutMs - lingerMs);
+        if (requestTimeoutMs < MIN_REQUEST_TIMEOUT_MS) {
+            throw new IllegalArgumentException("app.outbox.send-timeout-ms (" + sendTimeoutMs + ") must be at least "
+                    + (MIN_REQUEST_TIMEOUT_MS + lingerMs) + " ms (linger.ms + " + MIN_REQUEST_TIMEOUT_MS + ")");
+        }
+        props.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG,
+                deliveryTimeoutMs(lingerMs, requestTimeoutMs, producerTuning.getDeliveryTimeoutMs(), sendTimeoutMs));
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    /**
+     * delivery.timeout.ms du producteur du relais: le réglage commun borné à l'attente du relais,
+     * sans descendre sous le minimum accepté par Kafka (linger.ms + request.timeout.ms).
+     */
+    static int deliveryTimeoutMs(int lingerMs, int requestTimeoutMs, int requestedDeliveryTimeoutMs, long sendTimeoutMs) {
+        return (int) Math.max(lingerMs + requestTimeoutMs, Math.min(requestedDeliveryTimeoutMs, sendTimeoutMs));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+    public void relay() {
+        // Enchaîne les lots tant qu'ils sont entièrement envoyés, sinon attend le prochain tick
+        int delivered;
+        do {
+            Timer.Sample sample = Timer.start();
+            Integer result = transactionTemplate.execute(status -> relayBatch());
+            sample.stop(batchTimer);
+            delivered = result == null ? 0 : result;
+        } while (delivered >= batchSize);
+    }
+
+    private int relayBatch() {
+        Instant now = Instant.now();
+        // Le retard compte aussi les messages en attente de nouvel essai, que la requête d'envoi écarte
+        oldestPendingAgeMs.set(outboxRepository.findFirstByStatusOrderByIdAsc(OutboxEvent.Status.PENDING)
+                .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), now).toMillis()))
+                .orElse(0L));
+        List<OutboxEvent> batch = outboxRepository.findDeliverable(OutboxEvent.Status.PENDING, now, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> blockedKeys = new HashSet<>();
+        List<OutboxEvent> inFlight = new ArrayList<>();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            String key = event.getMessageKey();
+            if (key != null && blockedKeys.contains(key)) {
+                // Un message précédent de cette clé vient d'échouer dans ce lot
+                continue;
+            }
+            try {
+                futures.add(kafkaTemplate.send(event.getTopic(), key, event.getPayload()));
+                inFlight.add(event);
+            } catch (Exception e) {
+                // Échec synchrone (sérialisation, métadonnées indisponibles, buffer plein):
+                // seul ce message est replanifié, le reste du lot part et sa transaction est validée
+                scheduleRetry(event, e, now);
+                if (key != null) {
+                    blockedKeys.add(key);
+                }
+            }
+        }
+        kafkaTemplate.flush();
+
+        List<Long> delivered = new ArrayList<>();
+        for (int i = 0; i < inFlight.size(); i++) {
+            OutboxEvent event = inFlight.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                delivered.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scheduleRetry(event, e, now);
+            } catch (Exception e) {
+                scheduleRetry(event, e, now);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+            sent.increment(delivered.size());
+        }
+        log.debug("Outbox relay: {} sent, {} left pending in batch", delivered.size(), batch.size() - delivered.size());
+        return delivered.size();
+    }
+
+    private void scheduleRetry(OutboxEvent event, Exception error, Instant now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = String.valueOf(error.getCause() != null ? error.getCause() : error);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (attempts >= maxAttempts) {
+            // Mis de côté pour inspection: ne bloque plus les messages suivants de la même clé
+            event.setStatus(OutboxEvent.Status.FAILED);
+            parked.increment();
+            log.error("Outbox event {} to {} parked after {} attempts: {}", event.getId(), event.getTopic(), attempts, message);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, 500L << Math.min(attempts, 16));
+        event.setNextAttemptAt(now.plusMillis(backoff));
+        retried.increment();
+        log.warn("Outbox event {} to {} failed (attempt {}), retry in {} ms: {}", event.getId(), event.getTopic(), attempts, backoff, message);
+    }
+
+    @PreDestroy
+    void close() {
+        if (kafkaTemplate.getProducerFactory() instanceof DisposableBean factory) {
+            try {
+                factory.destroy();
+            } catch (Exception e) {
+                log.warn("Failed to close outbox producer: {}", e.getMessage());
+            }
+        }
+    }
+}
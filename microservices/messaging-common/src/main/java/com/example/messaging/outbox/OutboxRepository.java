@@ -0,0 +1,36 @@
+package com.example.messaging.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Messages envoyables maintenant, dans l'ordre d'insertion.
+     * Une clé dont un message antérieur attend son prochain essai est exclue en entier: le lot ne se remplit
+     * pas de messages retenus et les clés suivantes ne restent pas bloquées derrière elle.
+     * FOR UPDATE SKIP LOCKED: plusieurs instances peuvent relayer sans envoyer deux fois la même ligne
+     * (la sous-requête n'est qu'une lecture cohérente, elle ne verrouille rien).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e"
+            + " WHERE e.status = :status AND e.nextAttemptAt <= :now"
+            + " AND (e.messageKey IS NULL OR NOT EXISTS (SELECT b.id FROM OutboxEvent b"
+            + " WHERE b.messageKey = e.messageKey AND b.status = :status AND b.id < e.id AND b.nextAttemptAt > :now))"
+            + " ORDER BY e.id ASC")
+    List<OutboxEvent> findDeliverable(@Param("status") OutboxEvent.Status status, @Param("now") Instant now, Limit limit);
+
+    // Plus ancien message en attente, envoyable ou non (jauge de retard)
+    Optional<OutboxEvent> findFirstByStatusOrderByIdAsc(OutboxEvent.Status status);
+}
@@ -0,0 +1,40 @@
+package com.example.messaging.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.time.Instant;
+
+/**
+ * Enregistre un message dans la table outbox, dans la transaction de l'appelant:
+ * un rollback annule aussi le message, et la requête n'attend jamais le broker.
+ */
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    // Même configuration Jackson que le JsonSerializer Kafka: le JSON reçu par les consommateurs ne change pas
+    private static final ObjectMapper MAPPER = JacksonUtils.enhancedObjectMapper();
+
+    private final OutboxRepository outboxRepository;
+
+    public void enqueue(String topic, String key, Object payload) {
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable outbox payload: " + payload, e);
+        }
+        Instant now = Instant.now();
+        outboxRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(key)
+                .payload(json)
+                .status(OutboxEvent.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.messaging;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessagingAutoConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(KafkaAutoConfiguration.class, MessagingAutoConfiguration.class))
+            .withPropertyValues("spring.kafka.bootstrap-servers=localhost:9092");
+
+    @Test
+    void createsProducerWithDefaultTuning() {
+        contextRunner.run(context -> assertProducerCreated(context.getBean(ProducerFactory.class)));
+    }
+
+    @Test
+    void raisesDeliveryTimeoutBelowLingerPlusRequestTimeout() {
+        contextRunner
+                .withPropertyValues(
+                        "app.messaging.producer.linger-ms=50",
+                        "app.messaging.producer.request-timeout-ms=30000",
+                        "app.messaging.producer.delivery-timeout-ms=10000")
+                .run(context -> {
+                    ProducerFactory<?, ?> factory = context.getBean(ProducerFactory.class);
+                    assertThat(factory.getConfigurationProperties())
+                            .containsEntry("delivery.timeout.ms", 30050);
+                    assertProducerCreated(factory);
+                });
+    }
+
+    private static void assertProducerCreated(ProducerFactory<?, ?> factory) {
+        // Le constructeur de KafkaProducer valide la configuration sans contacter le broker
+        Producer<?, ?> producer = factory.createProducer();
+        assertThat(producer).isNotNull();
+        producer.close(Duration.ZERO);
+    }
+}
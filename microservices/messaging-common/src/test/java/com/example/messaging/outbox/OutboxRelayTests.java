@@ -0,0 +1,97 @@
+package com.example.messaging.outbox;
+
+import com.example.messaging.ProducerTuningProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTests {
+
+    @Test
+    void synchronousSendFailureOnlyRetriesThatEvent() {
+        OutboxRepository repository = mock(OutboxRepository.class);
+        @SuppressWarnings("unchecked")
+        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+        OutboxEvent first = pending(1L, "a");
+        OutboxEvent broken = pending(2L, "b");
+        OutboxEvent sameKeyAsBroken = pending(3L, "b");
+        OutboxEvent last = pending(4L, "c");
+        when(repository.findDeliverable(eq(OutboxEvent.Status.PENDING), any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(first, broken, sameKeyAsBroken, last));
+        CompletableFuture<SendResult<String, String>> acked = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send("topic", "a", "{}")).thenReturn(acked);
+        when(kafkaTemplate.send("topic", "b", "{}")).thenThrow(new KafkaException("metadata unavailable"));
+        when(kafkaTemplate.send("topic", "c", "{}")).thenReturn(acked);
+
+        OutboxRelay relay = new OutboxRelay(repository, mock(PlatformTransactionManager.class), kafkaTemplate,
+                new OutboxProperties(), new SimpleMeterRegistry());
+        relay.relay();
+
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 4L));
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(broken.getLastError()).contains("metadata unavailable");
+        assertThat(broken.getNextAttemptAt()).isAfter(Instant.now());
+        // Retenu derrière le message en échec de la même clé
+        assertThat(sameKeyAsBroken.getAttempts()).isZero();
+    }
+
+    @Test
+    void createsProducerWithRelayTimeouts() {
+        DefaultKafkaProducerFactory<String, String> factory =
+                OutboxRelay.producerFactory(new KafkaProperties(), new ProducerTuningProperties(), 10000);
+        Producer<String, String> producer = factory.createProducer();
+        assertThat(producer).isNotNull();
+        producer.close(Duration.ZERO);
+        factory.destroy();
+    }
+
+    @Test
+    void deliveryTimeoutNeverExceedsRelayWait() {
+        assertThat(OutboxRelay.deliveryTimeoutMs(10, 4990, 30000, 5000)).isEqualTo(5000);
+        assertThat(OutboxRelay.deliveryTimeoutMs(10, 9990, 30000, 10000)).isEqualTo(10000);
+        // Réglage commun plus court que l'attente du relais: conservé
+        assertThat(OutboxRelay.deliveryTimeoutMs(10, 5000, 8000, 10000)).isEqualTo(8000);
+        // Jamais sous le minimum accepté par Kafka
+        assertThat(OutboxRelay.deliveryTimeoutMs(10, 5000, 2000, 10000)).isEqualTo(5010);
+    }
+
+    @Test
+    void rejectsSendTimeoutShorterThanLingerPlusMinimalRequestTimeout() {
+        assertThatThrownBy(() -> OutboxRelay.producerFactory(new KafkaProperties(), new ProducerTuningProperties(), 500))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("send-timeout-ms");
+    }
+
+    private static OutboxEvent pending(Long id, String key) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("topic")
+                .messageKey(key)
+                .payload("{}")
+                .status(OutboxEvent.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.EPOCH)
+                .createdAt(Instant.EPOCH)
+                .build();
+    }
+}
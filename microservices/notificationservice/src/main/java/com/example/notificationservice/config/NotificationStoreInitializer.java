@@ -0,0 +1,86 @@
+package com.example.notificationservice.config;
+
+import com.example.notificationservice.model.Notification;
+import com.example.notificationservice.model.UnreadCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Au démarrage, avant le lancement des listeners Kafka: index composés utilisés par la liste
+ * et les opérations en masse, puis construction initiale des compteurs non lus si la collection est vide.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationStoreInitializer implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        IndexOperations indexes = mongoTemplate.indexOps(Notification.class);
+        // Liste paginée par utilisateur, la plus récente d'abord
+        indexes.createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .named("idx_notifications_user_created"));
+        // Reprise SSE: notifications postérieures au dernier numéro reçu
+        indexes.createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("seq", Sort.Direction.ASC)
+                .named("idx_notifications_user_seq"));
+        // mark-all-read, suppression en masse, reconstruction des compteurs
+        indexes.createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("read", Sort.Direction.ASC)
+                .named("idx_notifications_user_read"));
+        // Regroupement des activités: une seule notification non lue par clé
+        indexes.createIndex(new Index()
+                .on("coalesceKey", Sort.Direction.ASC)
+                .unique()
+                .sparse()
+                .named("uk_notifications_coalesce_key"));
+
+        if (mongoTemplate.estimatedCount(UnreadCounter.class) == 0) {
+            rebuildUnreadCounters();
+        }
+    }
+
+    private void rebuildUnreadCounters() {
+        List<Document> perUser = mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(where("read").is(false)),
+                        Aggregation.group("userId").count().as("unread")),
+                Notification.class, Document.class).getMappedResults();
+        if (perUser.isEmpty()) {
+            return;
+        }
+        BulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+        Instant now = Instant.now();
+        for (Document row : perUser) {
+            Object userId = row.get("_id");
+            if (userId == null) {
+                continue;
+            }
+            counters.upsert(query(where("_id").is(userId)),
+                    new Update().set("unread", ((Number) row.get("unread")).longValue()).set("updatedAt", now));
+        }
+        counters.execute();
+        log.info("Rebuilt unread counters for {} users", perUser.size());
+    }
+}
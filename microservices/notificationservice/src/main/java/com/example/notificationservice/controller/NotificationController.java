@@ -1,59 +1,83 @@
 package com.example.notificationservice.controller;
 
 import com.example.notificationservice.model.Notification;
-import com.example.notificationservice.repository.NotificationRepository;
+import com.example.notificationservice.push.NotificationPushRegistry;
+import com.example.notificationservice.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.Instant;
-import java.util.Optional;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/notifications")
 @RequiredArgsConstructor
 public class NotificationController {
 
-    private final NotificationRepository repository;
+    private static final int MAX_RESUME = 100;
+
+    private final NotificationService notificationService;
+    private final NotificationPushRegistry pushRegistry;
 
     @GetMapping
     public Page<Notification> listByUser(@RequestParam Long userId,
                                          @RequestParam(defaultValue = "0") int page,
                                          @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return repository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        return notificationService.listByUser(userId, pageable);
+    }
+
+    /**
+     * Flux SSE des nouvelles notifications. À la reconnexion, EventSource renvoie Last-Event-ID:
+     * les notifications manquées (au plus 100) sont rejouées avant le direct.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam Long userId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        List<Notification> missed = lastEventId == null || lastEventId.isBlank()
+                ? List.of()
+                : notificationService.findAfter(userId, lastEventId, MAX_RESUME);
+        return pushRegistry.subscribe(userId, missed);
     }
 
+    // Lecture d'un seul document compteur (maintenu par $inc), plus de comptage sur l'historique
     @GetMapping("/unread-count")
     public ResponseEntity<Long> unreadCount(@RequestParam Long userId) {
-        long count = repository.countByUserIdAndReadFalse(userId);
-        return ResponseEntity.ok(count);
+        return ResponseEntity.ok(notificationService.unreadCount(userId));
     }
 
     @PostMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable String id) {
-        Optional<Notification> existing = repository.findById(id);
-        if (existing.isEmpty()) {
+        if (!notificationService.markAsRead(id)) {
             return ResponseEntity.notFound().build();
         }
-        Notification n = existing.get();
-        n.setRead(true);
-        if (n.getCreatedAt() == null) {
-            n.setCreatedAt(Instant.now());
-        }
-        repository.save(n);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/read-all")
+    public ResponseEntity<Long> markAllRead(@RequestParam Long userId) {
+        return ResponseEntity.ok(notificationService.markAllRead(userId));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
-        if (!repository.existsById(id)) {
+        if (!notificationService.delete(id)) {
             return ResponseEntity.notFound().build();
         }
-        repository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Sans ids: supprime toutes les notifications de l'utilisateur
+    @DeleteMapping
+    public ResponseEntity<Long> deleteMany(@RequestParam Long userId,
+                                           @RequestParam(required = false) List<String> ids) {
+        return ResponseEntity.ok(notificationService.deleteMany(userId, ids));
+    }
 }
@@ -1,20 +0,0 @@
-package com.example.notificationservice.messaging;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.Instant;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class NotificationEvent {
-    private Long userId;
-    private String type; // e.g., IDEA_APPROVED, NEW_COMMENT, WORKFLOW_STEP
-    private String title;
-    private String message;
-    private Instant createdAt;
-}
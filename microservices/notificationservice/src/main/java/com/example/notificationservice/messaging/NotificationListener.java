@@ -1,42 +1,67 @@
 package com.example.notificationservice.messaging;
 
+import com.example.messaging.NotificationEvent;
 import com.example.notificationservice.model.Notification;
-import com.example.notificationservice.repository.NotificationRepository;
+import com.example.notificationservice.push.NotificationPushRegistry;
+import com.example.notificationservice.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Consomme les notifications par lots: un seul insert Mongo non ordonné par lot,
+ * offsets commités après l'écriture du lot (ack-mode BATCH).
+ * Les producteurs utilisent le destinataire comme clé: un utilisateur = une partition = un thread,
+ * l'ordre par utilisateur est conservé quelle que soit la concurrence.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class NotificationListener {
 
-    private final NotificationRepository repository;
+    private final NotificationService notificationService;
+    private final NotificationPushRegistry pushRegistry;
 
-    @KafkaListener(topics = "${app.kafka.topics.notifications}", groupId = "${spring.kafka.consumer.group-id}")
-    public void onMessage(NotificationEvent event) {
-        try {
-            if (event.getCreatedAt() == null) {
-                event.setCreatedAt(Instant.now());
+    @KafkaListener(topics = "${app.kafka.topics.notifications}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            batch = "true",
+            concurrency = "${app.notifications.consumer.concurrency:3}")
+    public void onMessages(List<ConsumerRecord<String, NotificationEvent>> records) {
+        List<Notification> notifications = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, NotificationEvent> record : records) {
+            NotificationEvent event = record.value();
+            if (event == null || event.getUserId() == null) {
+                // Message illisible (ErrorHandlingDeserializer) ou sans destinataire: ignoré, le lot continue
+                log.warn("Skipping invalid notification record {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
             }
-            Notification notification = Notification.builder()
+            notifications.add(Notification.builder()
+                    // Id déterministe: rejouer un lot ne crée pas de doublon
+                    .id(record.topic() + "-" + record.partition() + "-" + record.offset())
                     .userId(event.getUserId())
                     .type(event.getType())
                     .title(event.getTitle())
                     .message(event.getMessage())
-                    .createdAt(event.getCreatedAt())
+                    .createdAt(event.getCreatedAt() == null ? Instant.now() : event.getCreatedAt())
+                    .ideaId(event.getIdeaId())
+                    .actorName(event.getActorName())
+                    .count(1)
                     .read(false)
-                    .build();
-            Notification saved = repository.save(notification);
-            log.info("Saved notification id {} for user {} of type {}", saved.getId(), event.getUserId(), event.getType());
-            long unread = repository.countByUserIdAndReadFalse(event.getUserId());
-            log.info("User {} has {} unread notifications (after save)", event.getUserId(), unread);
-        } catch (Exception ex) {
-            log.error("Failed to process notification event: {}", event, ex);
-            throw ex;
+                    .build());
         }
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<Notification> inserted = notificationService.saveAll(notifications);
+        log.info("Saved {} notifications from batch of {} records ({} already present)",
+                inserted.size(), records.size(), notifications.size() - inserted.size());
+        // Après l'écriture: un client qui se reconnecte retrouve ces notifications via Last-Event-ID
+        pushRegistry.push(inserted);
     }
 }
@@ -1,5 +1,6 @@
 package com.example.notificationservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +9,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.Set;
 
 @Data
 @Builder
@@ -24,4 +26,17 @@ public class Notification {
     private String message;
     private boolean read;
     private Instant createdAt;
+    // Ordre d'écriture par utilisateur, attribué par le service (pas par le producteur): id des événements SSE et point de reprise
+    private Long seq;
+
+    // Activité regroupée (VOTE_ACTIVITY, BOOKMARK_ACTIVITY): une notification par idée et par fenêtre
+    private Long ideaId;
+    private String actorName;
+    private Integer count;
+    private Instant updatedAt;
+    // Présente seulement tant que la notification regroupée est non lue (index unique sparse)
+    private String coalesceKey;
+    // Ids des messages déjà comptés dans count: un lot rejoué ne les recompte pas
+    @JsonIgnore
+    private Set<String> appliedIds;
 }
@@ -0,0 +1,24 @@
+package com.example.notificationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Dernier numéro de séquence attribué aux notifications d'un utilisateur ({@link Notification#getSeq()}),
+ * réservé par $inc avant chaque écriture.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "notification_sequences")
+public class NotificationSequence {
+    @Id
+    private Long userId;
+
+    private long value;
+}
@@ -0,0 +1,27 @@
+package com.example.notificationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Nombre de notifications non lues d'un utilisateur, tenu à jour par $inc
+ * à chaque insertion, lecture ou suppression: le badge est une lecture d'un seul document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "unread_counters")
+public class UnreadCounter {
+    @Id
+    private Long userId;
+
+    private long unread;
+    private Instant updatedAt;
+}
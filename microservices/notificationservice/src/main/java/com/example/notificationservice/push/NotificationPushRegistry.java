@@ -0,0 +1,129 @@
+package com.example.notificationservice.push;
+
+import com.example.notificationservice.model.Notification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Abonnements SSE ouverts sur cette instance, par userId.
+ * Alimenté par {@link com.example.notificationservice.messaging.NotificationListener} après l'écriture Mongo;
+ * l'id d'événement SSE est le numéro de séquence de la notification, ce qui permet la reprise via Last-Event-ID.
+ */
+@Slf4j
+@Component
+public class NotificationPushRegistry {
+
+    private final Map<Long, Deque<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+    private final int maxPerUser;
+    private final long reconnectDelayMs;
+
+    public NotificationPushRegistry(MeterRegistry meterRegistry,
+                                    @Value("${app.notifications.push.timeout-ms:1800000}") long timeoutMs,
+                                    @Value("${app.notifications.push.max-per-user:10}") int maxPerUser,
+                                    @Value("${app.notifications.push.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+        this.reconnectDelayMs = reconnectDelayMs;
+        Gauge.builder("notifications.push.connections", this, NotificationPushRegistry::connectionCount)
+                .description("Flux SSE ouverts sur cette instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ouvre un flux et y rejoue {@code missed} (notifications postérieures au dernier id reçu par le client).
+     */
+    public SseEmitter subscribe(Long userId, List<Notification> missed) {
+        // À l'expiration, EventSource se reconnecte seul avec Last-Event-ID
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // compute: atomique vis-à-vis de remove(), qui retire la file vide de la map
+        Deque<SseEmitter> userEmitters = emitters.compute(userId, (id, existing) -> {
+            Deque<SseEmitter> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.add(emitter);
+            return deque;
+        });
+        // Trop d'onglets: le plus ancien flux est fermé
+        while (userEmitters.size() > maxPerUser) {
+            SseEmitter oldest = userEmitters.pollFirst();
+            if (oldest != null) {
+                oldest.complete();
+            }
+        }
+        Runnable remove = () -> remove(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(reconnectDelayMs).comment("connected"));
+            for (Notification n : missed) {
+                emitter.send(toEvent(n));
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+        }
+        return emitter;
+    }
+
+    public void push(List<Notification> notifications) {
+        for (Notification n : notifications) {
+            Deque<SseEmitter> userEmitters = emitters.get(n.getUserId());
+            if (userEmitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : userEmitters) {
+                send(n.getUserId(), emitter, toEvent(n));
+            }
+        }
+    }
+
+    /**
+     * Garde les connexions ouvertes à travers les proxys et détecte les clients partis.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.push.heartbeat-ms:15000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(userId, emitter, SseEmitter.event().comment("hb"));
+            }
+        });
+    }
+
+    public int connectionCount() {
+        return emitters.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client déconnecté: le conteneur finira la requête, on oublie l'émetteur tout de suite
+            remove(userId, emitter);
+            log.debug("Dropped SSE subscription of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(Notification n) {
+        // Numéro de séquence si attribué; les notifications antérieures gardent l'id du document
+        return SseEmitter.event().id(n.getSeq() != null ? String.valueOf(n.getSeq()) : n.getId()).data(n);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.notificationservice.service;
+
+import com.example.notificationservice.model.Notification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationService {
+
+    /**
+     * Insère un lot (non ordonné, doublons d'id ignorés) et incrémente les compteurs non lus.
+     * @return les documents réellement insérés
+     */
+    List<Notification> saveAll(List<Notification> notifications);
+
+    /**
+     * Notifications de l'utilisateur écrites après l'événement SSE {@code lastEventId}
+     * (numéro de séquence, ou id de document pour les notifications antérieures), plus anciennes d'abord.
+     */
+    List<Notification> findAfter(Long userId, String lastEventId, int limit);
+
+    Page<Notification> listByUser(Long userId, Pageable pageable);
+
+    long unreadCount(Long userId);
+
+    /**
+     * @return false si la notification n'existe pas
+     */
+    boolean markAsRead(String id);
+
+    long markAllRead(Long userId);
+
+    /**
+     * @return false si la notification n'existe pas
+     */
+    boolean delete(String id);
+
+    /**
+     * Supprime les notifications {@code ids} de l'utilisateur, ou toutes si {@code ids} est vide.
+     */
+    long deleteMany(Long userId, Collection<String> ids);
+}
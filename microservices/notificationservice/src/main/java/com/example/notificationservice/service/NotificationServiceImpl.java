@@ -0,0 +1,327 @@
+package com.example.notificationservice.service;
+
+import com.example.notificationservice.model.Notification;
+import com.example.notificationservice.model.NotificationSequence;
+import com.example.notificationservice.model.UnreadCounter;
+import com.example.notificationservice.repository.NotificationRepository;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+
+    // Clé dupliquée: le document existe déjà (lot rejoué après un échec de commit d'offset)
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationRepository repository;
+
+    @Value("${app.notifications.coalesce.window:PT10M}")
+    private Duration coalesceWindow;
+
+    @Value("${app.notifications.coalesce.types:VOTE_ACTIVITY,BOOKMARK_ACTIVITY}")
+    private Set<String> coalescedTypes;
+
+    @Override
+    public List<Notification> saveAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        List<Notification> plain = new ArrayList<>(notifications.size());
+        Map<String, List<Notification>> activity = new LinkedHashMap<>();
+        for (Notification n : notifications) {
+            if (isCoalesced(n)) {
+                // Fusion en mémoire d'abord: une rafale reçue dans un même lot = une seule écriture
+                activity.computeIfAbsent(coalesceKey(n), k -> new ArrayList<>()).add(n);
+            } else {
+                plain.add(n);
+            }
+        }
+
+        // Un utilisateur = une partition = un thread: les numéros réservés ici sont écrits dans l'ordre,
+        // aucune notification de numéro inférieur ne peut devenir visible après celles-ci
+        Map<Long, Integer> needed = new HashMap<>();
+        plain.forEach(n -> needed.merge(n.getUserId(), 1, Integer::sum));
+        activity.values().forEach(group -> needed.merge(group.get(0).getUserId(), 1, Integer::sum));
+        Map<Long, AtomicLong> nextSeq = reserveSequences(needed);
+        plain.forEach(n -> n.setSeq(nextSeq.get(n.getUserId()).getAndIncrement()));
+
+        Map<Long, Long> unreadByUser = new HashMap<>();
+        List<Notification> saved = new ArrayList<>(notifications.size());
+        saved.addAll(insertAll(plain, unreadByUser));
+        activity.forEach((key, group) -> {
+            long seq = nextSeq.get(group.get(0).getUserId()).getAndIncrement();
+            Notification merged = coalesce(key, group, seq, unreadByUser);
+            if (merged != null) {
+                saved.add(merged);
+            }
+        });
+
+        // Un seul $inc par utilisateur du lot, uniquement pour les documents réellement créés
+        if (!unreadByUser.isEmpty()) {
+            BulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+            unreadByUser.forEach((userId, delta) -> counters.upsert(counterQuery(userId), counterUpdate(delta)));
+            counters.execute();
+        }
+        return saved;
+    }
+
+    /**
+     * Réserve {@code count} numéros consécutifs par utilisateur (un $inc chacun).
+     * @return le prochain numéro à attribuer, par utilisateur
+     */
+    private Map<Long, AtomicLong> reserveSequences(Map<Long, Integer> needed) {
+        Map<Long, AtomicLong> next = new HashMap<>();
+        needed.forEach((userId, count) -> {
+            NotificationSequence sequence = mongoTemplate.findAndModify(query(where("_id").is(userId)),
+                    new Update().inc("value", count),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), NotificationSequence.class);
+            next.put(userId, new AtomicLong(sequence.getValue() - count + 1));
+        });
+        return next;
+    }
+
+    private List<Notification> insertAll(List<Notification> notifications, Map<Long, Long> unreadByUser) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> rejected = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class)
+                    .insert(notifications)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Mode non ordonné: les autres documents sont écrits; seuls les doublons sont tolérés
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                rejected.add(error.getIndex());
+            }
+        }
+        List<Notification> inserted = new ArrayList<>(notifications.size() - rejected.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification n = notifications.get(i);
+            if (rejected.contains(i)) {
+                continue;
+            }
+            inserted.add(n);
+            if (!n.isRead()) {
+                unreadByUser.merge(n.getUserId(), 1L, Long::sum);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Met à jour la notification non lue du groupe (dernier acteur, message, compteur) ou la crée.
+     * La clé n'existe que sur les notifications non lues (retirée à la lecture), avec un index unique sparse.
+     * Les ids des messages déjà comptés sont gardés sur le document: un lot rejoué, même redécoupé,
+     * n'incrémente le compteur que pour les messages nouveaux.
+     */
+    private Notification coalesce(String key, List<Notification> group, long seq, Map<Long, Long> unreadByUser) {
+        try {
+            return applyActivity(key, group, seq, unreadByUser);
+        } catch (DuplicateKeyException e) {
+            // Le document de la clé a déjà compté au moins un de ces messages (le filtre $nin l'a écarté)
+            Notification current = mongoTemplate.findOne(query(where("coalesceKey").is(key)), Notification.class);
+            Set<String> applied = current == null || current.getAppliedIds() == null ? Set.of() : current.getAppliedIds();
+            List<Notification> fresh = group.stream().filter(n -> !applied.contains(n.getId())).toList();
+            if (current == null || fresh.isEmpty()) {
+                log.debug("Skipping replayed activity group {}", key);
+                return null;
+            }
+            try {
+                return applyActivity(key, fresh, seq, unreadByUser);
+            } catch (DuplicateKeyException again) {
+                log.debug("Skipping replayed activity group {}: {}", key, again.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private Notification applyActivity(String key, List<Notification> group, long seq, Map<Long, Long> unreadByUser) {
+        Notification first = group.get(0);
+        Notification latest = group.get(group.size() - 1);
+        List<String> ids = group.stream().map(Notification::getId).toList();
+        Update update = new Update()
+                // Id du premier message: un lot rejoué après lecture heurte cet id au lieu de recréer la notification
+                .setOnInsert("_id", first.getId())
+                .setOnInsert("userId", first.getUserId())
+                .setOnInsert("type", first.getType())
+                .setOnInsert("ideaId", first.getIdeaId())
+                .setOnInsert("read", false)
+                .set("title", latest.getTitle())
+                .set("message", latest.getMessage())
+                .set("actorName", latest.getActorName())
+                // createdAt suit la dernière activité (tri de la liste); nouveau numéro: la reprise SSE la renvoie
+                .set("createdAt", latest.getCreatedAt())
+                .set("seq", seq)
+                .set("updatedAt", Instant.now())
+                .inc("count", group.size());
+        update.addToSet("appliedIds").each(ids.toArray());
+        // Garde: aucun de ces messages déjà compté. Sinon pas de correspondance, l'upsert heurte la clé unique
+        Notification merged = mongoTemplate.findAndModify(
+                query(where("coalesceKey").is(key).and("appliedIds").nin(ids)), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Notification.class);
+        if (merged != null && merged.getCount() != null && merged.getCount() == group.size()) {
+            // Compteur égal au lot: le document vient d'être créé
+            unreadByUser.merge(merged.getUserId(), 1L, Long::sum);
+        }
+        return merged;
+    }
+
+    private boolean isCoalesced(Notification n) {
+        return n.getIdeaId() != null && n.getType() != null && coalescedTypes.contains(n.getType());
+    }
+
+    // Fenêtres fixes: toutes les activités d'une même fenêtre partagent la clé
+    private String coalesceKey(Notification n) {
+        long window = n.getCreatedAt().toEpochMilli() / Math.max(1, coalesceWindow.toMillis());
+        return n.getUserId() + ":" + n.getType() + ":" + n.getIdeaId() + ":" + window;
+    }
+
+    @Override
+    public List<Notification> findAfter(Long userId, String lastEventId, int limit) {
+        Long lastSeq = parseSeq(lastEventId);
+        if (lastSeq == null) {
+            // Id de document: événement envoyé avant l'attribution des numéros de séquence
+            Notification last = mongoTemplate.findOne(query(where("_id").is(lastEventId).and("userId").is(userId)), Notification.class);
+            if (last == null) {
+                return List.of();
+            }
+            if (last.getSeq() == null) {
+                if (last.getCreatedAt() == null) {
+                    return List.of();
+                }
+                // Index (userId, createdAt)
+                return mongoTemplate.find(query(where("userId").is(userId).and("createdAt").gt(last.getCreatedAt()))
+                                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                                .limit(limit),
+                        Notification.class);
+            }
+            lastSeq = last.getSeq();
+        }
+        // Index (userId, seq): ordre d'écriture, indépendant des horloges des producteurs
+        return mongoTemplate.find(query(where("userId").is(userId).and("seq").gt(lastSeq))
+                        .with(Sort.by(Sort.Direction.ASC, "seq"))
+                        .limit(limit),
+                Notification.class);
+    }
+
+    private static Long parseSeq(String lastEventId) {
+        try {
+            return Long.valueOf(lastEventId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Page<Notification> listByUser(Long userId, Pageable pageable) {
+        return repository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    }
+
+    @Override
+    public long unreadCount(Long userId) {
+        UnreadCounter counter = mongoTemplate.findById(userId, UnreadCounter.class);
+        return counter == null ? 0 : Math.max(0, counter.getUnread());
+    }
+
+    @Override
+    public boolean markAsRead(String id) {
+        // Renvoie le document avant modification, uniquement s'il était non lu: décrément exact même en concurrence
+        Notification previous = mongoTemplate.findAndModify(
+                query(where("_id").is(id).and("read").is(false)),
+                new Update().set("read", true).unset("coalesceKey").unset("appliedIds"),
+                Notification.class);
+        if (previous != null) {
+            incrementUnread(previous.getUserId(), -1);
+            return true;
+        }
+        return repository.existsById(id);
+    }
+
+    @Override
+    public long markAllRead(Long userId) {
+        long modified = mongoTemplate.updateMulti(
+                query(where("userId").is(userId).and("read").is(false)),
+                new Update().set("read", true).unset("coalesceKey").unset("appliedIds"),
+                Notification.class).getModifiedCount();
+        // Décrément plutôt que remise à zéro: une notification insérée entre-temps reste comptée
+        incrementUnread(userId, -modified);
+        return modified;
+    }
+
+    @Override
+    public boolean delete(String id) {
+        Notification removed = mongoTemplate.findAndRemove(query(where("_id").is(id)), Notification.class);
+        if (removed == null) {
+            return false;
+        }
+        if (!removed.isRead()) {
+            incrementUnread(removed.getUserId(), -1);
+        }
+        return true;
+    }
+
+    @Override
+    public long deleteMany(Long userId, Collection<String> ids) {
+        Criteria owned = where("userId").is(userId);
+        if (ids != null && !ids.isEmpty()) {
+            owned = owned.and("_id").in(ids);
+        }
+        // Non lues d'abord, pour connaître le décrément exact
+        long unread = mongoTemplate.remove(query(Criteria.where("read").is(false).andOperator(owned)),
+                Notification.class).getDeletedCount();
+        long read = mongoTemplate.remove(query(owned), Notification.class).getDeletedCount();
+        incrementUnread(userId, -unread);
+        return unread + read;
+    }
+
+    private void incrementUnread(Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        mongoTemplate.upsert(counterQuery(userId), counterUpdate(delta), UnreadCounter.class);
+    }
+
+    private static Query counterQuery(Long userId) {
+        return query(where("_id").is(userId));
+    }
+
+    private static Update counterUpdate(long delta) {
+        return new Update().inc("unread", delta).set("updatedAt", Instant.now());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.userservice.bench;
+
+import com.example.userservice.security.LoginRateLimiter;
+import com.example.userservice.security.PasswordHashingExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit (connexions/s) et distribution de latence (p99 en mode SampleTime) de la partie CPU
+ * de la connexion: limites + BCrypt. 64 threads appelants simulent le pic du matin sur les threads Tomcat.
+ * {@code viaHashingPool} passe par le pool borné, {@code onCallerThread} reproduit l'ancien comportement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@Threads(64)
+public class LoginPipelineBenchmark {
+
+    private static final String PASSWORD = "morning-login-P4ss";
+
+    @Param({"10"})
+    int bcryptStrength;
+
+    @Param({"0"})
+    int poolSize;
+
+    @Param({"256"})
+    int queueCapacity;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHashingExecutor hashing;
+    private LoginRateLimiter rateLimiter;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(bcryptStrength);
+        hashing = new PasswordHashingExecutor(encoder, poolSize, queueCapacity);
+        // Limites hautes: on mesure le coût des fenêtres, pas les refus
+        rateLimiter = new LoginRateLimiter(Integer.MAX_VALUE, Duration.ofMinutes(1),
+                Integer.MAX_VALUE, Duration.ofMinutes(15), 1_000_000);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hashing.shutdown();
+    }
+
+    @Benchmark
+    public boolean viaHashingPool() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = "user" + random.nextInt(50_000) + "@example.com";
+        rateLimiter.checkAttempt(email, "10.0." + random.nextInt(256) + "." + random.nextInt(256));
+        boolean matches = hashing.matches(PASSWORD, hash).join();
+        rateLimiter.recordSuccess(email);
+        return matches;
+    }
+
+    @Benchmark
+    public boolean onCallerThread() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
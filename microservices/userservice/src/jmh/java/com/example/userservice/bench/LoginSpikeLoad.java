@@ -0,0 +1,118 @@
+package com.example.userservice.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Charge HTTP en boucle ouverte sur POST /api/auth/login: palier de base, pic du matin, retour au calme.
+ * La latence est mesurée depuis l'instant d'envoi prévu (pas d'omission coordonnée).
+ * Les comptes {@code accountPrefix + i + "@" + accountDomain} doivent exister avec le mot de passe donné.
+ * Paramètres en {@code -Dlogin.xxx}: baseUrl, accounts, accountPrefix, accountDomain, password,
+ * baseRate, spikeRate (requêtes/s), baseSeconds, spikeSeconds, clientIps.
+ */
+public class LoginSpikeLoad {
+
+    private record Phase(String name, int ratePerSecond, int seconds) {
+    }
+
+    private record Sample(int status, long latencyNanos) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("login.baseUrl", "http://localhost:8081");
+        int accounts = Integer.getInteger("login.accounts", 1000);
+        String prefix = System.getProperty("login.accountPrefix", "loadtest+");
+        String domain = System.getProperty("login.accountDomain", "example.com");
+        String password = System.getProperty("login.password", "password");
+        int baseRate = Integer.getInteger("login.baseRate", 20);
+        int spikeRate = Integer.getInteger("login.spikeRate", 400);
+        int baseSeconds = Integer.getInteger("login.baseSeconds", 30);
+        int spikeSeconds = Integer.getInteger("login.spikeSeconds", 60);
+        // Les appels directs au service viennent tous de la même IP: X-Forwarded-For répartit la limite par IP
+        int clientIps = Integer.getInteger("login.clientIps", 5000);
+
+        List<Phase> phases = List.of(
+                new Phase("baseline", baseRate, baseSeconds),
+                new Phase("morning-spike", spikeRate, spikeSeconds),
+                new Phase("cool-down", baseRate, baseSeconds));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI uri = URI.create(baseUrl + "/api/auth/login");
+
+        for (Phase phase : phases) {
+            ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+            LongAdder errors = new LongAdder();
+            List<CompletableFuture<?>> inFlight = new ArrayList<>();
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, phase.ratePerSecond());
+            long total = (long) phase.ratePerSecond() * phase.seconds();
+            long start = System.nanoTime();
+
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int ip = random.nextInt(clientIps);
+                String body = "{\"email\":\"" + prefix + random.nextInt(accounts) + "@" + domain
+                        + "\",\"password\":\"" + password + "\"}";
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/json")
+                        .header("X-Forwarded-For", "10." + (ip >> 16 & 0xff) + "." + (ip >> 8 & 0xff) + "." + (ip & 0xff))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            if (error != null) {
+                                errors.increment();
+                            } else {
+                                samples.add(new Sample(response.statusCode(), System.nanoTime() - intended));
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            report(phase, samples, errors.sum(), System.nanoTime() - start);
+        }
+    }
+
+    private static void report(Phase phase, ConcurrentLinkedQueue<Sample> samples, long errors, long elapsedNanos) {
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        samples.forEach(s -> byStatus.merge(s.status(), 1L, Long::sum));
+        long[] okLatencies = samples.stream()
+                .filter(s -> s.status() == 200)
+                .mapToLong(Sample::latencyNanos)
+                .sorted()
+                .toArray();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%-14s target=%d/s logins=%.1f/s p50=%.1fms p99=%.1fms max=%.1fms statuses=%s errors=%d%n",
+                phase.name(), phase.ratePerSecond(), okLatencies.length / seconds,
+                percentile(okLatencies, 0.50), percentile(okLatencies, 0.99),
+                okLatencies.length == 0 ? 0.0 : okLatencies[okLatencies.length - 1] / 1e6,
+                byStatus, errors);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
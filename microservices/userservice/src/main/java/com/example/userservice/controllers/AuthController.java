@@ -4,33 +4,27 @@ import com.example.userservice.dto.AuthRequest;
 import com.example.userservice.dto.AuthResponse;
 import com.example.userservice.dto.UserCreateRequest;
 import com.example.userservice.dto.UserDTO;
-import com.example.userservice.entities.User;
-import com.example.userservice.repositories.UserRepository;
-import com.example.userservice.security.JwtService;
+import com.example.userservice.service.AuthService;
 import com.example.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Tag(name = "Authentication", description = "Endpoints d'authentification")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-    private final UserRepository userRepository;
+    private final AuthService authService;
     private final UserService userService;
 
     @PostMapping("/register")
@@ -41,39 +35,22 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Connexion utilisateur", description = "Authentifie l'utilisateur et retourne un token JWT")
-    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody AuthRequest request,
+                                                                 HttpServletRequest httpRequest) {
+        // La vérification BCrypt libère le thread Tomcat: la réponse est écrite à la fin du hachage
+        return authService.login(request, clientIp(httpRequest)).thenApply(ResponseEntity::ok);
+    }
 
-        java.util.Map<String, Object> extraClaims = new java.util.HashMap<>();
-        extraClaims.put("userId", user.getId());
-        extraClaims.put("role", user.getRole());
-        if (user.getTenantId() != null) {
-            extraClaims.put("tenantId", user.getTenantId());
+    // Les premières entrées de X-Forwarded-For viennent du client et peuvent être forgées:
+    // seule la dernière, ajoutée par la gateway, est l'adresse vue par notre infrastructure
+    private static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            String last = forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+            if (!last.isEmpty()) {
+                return last;
+            }
         }
-        if (user.getTenantType() != null) {
-            extraClaims.put("tenantType", user.getTenantType().name());
-        }
-        if (user.getEntityType() != null) {
-            extraClaims.put("entityType", user.getEntityType().name());
-        }
-        
-        String token = jwtService.generateToken(extraClaims, userDetails);
-
-        return ResponseEntity.ok(AuthResponse.builder()
-                .token(token)
-                .role(user.getRole())
-                .userId(user.getId())
-                .tenantId(user.getTenantId())
-                .tenantType(user.getTenantType() != null ? user.getTenantType().name() : null)
-                .entityType(user.getEntityType() != null ? user.getEntityType().name() : null)
-                .build());
+        return request.getRemoteAddr();
     }
 }
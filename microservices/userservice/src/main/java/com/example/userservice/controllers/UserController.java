@@ -1,5 +1,6 @@
 package com.example.userservice.controllers;
 
+import com.example.userservice.dto.ProfilePictureMeta;
 import com.example.userservice.dto.UserCreateRequest;
 import com.example.userservice.dto.UserDTO;
 import com.example.userservice.dto.UserUpdateRequest;
@@ -15,15 +16,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.security.Principal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/users")
@@ -32,6 +38,8 @@ import java.util.List;
 @Tag(name = "User CRUD", description = "APIs pour les opérations utilisateurs")
 public class UserController {
 
+    public static final int MAX_NAME_BATCH = 500;
+
     private final UserServiceImpl userService;
 
     @PostMapping
@@ -73,6 +81,23 @@ public class UserController {
         return ResponseEntity.ok(userName);
     }
 
+    @GetMapping("/names")
+    @Operation(summary = "Récupérer les noms complets de plusieurs utilisateurs en un appel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Noms trouvés, indexés par ID (les IDs inconnus sont absents)",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Trop d'IDs demandés", content = @Content)
+    })
+    public ResponseEntity<Map<Long, String>> getUserNamesByIds(@Parameter(description = "IDs des utilisateurs", required = true, example = "1,2,3")
+                                                               @RequestParam List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_NAME_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.debug("Fetching user names for {} userIds", distinctIds.size());
+        return ResponseEntity.ok(userService.getUserNamesByIds(distinctIds));
+    }
+
     @GetMapping
     @Operation(summary = "Lister tous les utilisateurs")
     public ResponseEntity<List<UserDTO>> getAll() {
@@ -151,25 +176,46 @@ public class UserController {
     }
 
     @GetMapping("/{id}/profile-picture")
-    @Operation(summary = "Récupérer la photo de profil d'un utilisateur")
+    @Operation(summary = "Récupérer la photo de profil d'un utilisateur",
+            description = "size=thumbnail pour la vignette carrée; avec v (version courante), la réponse est cacheable indéfiniment. "
+                    + "Sans authentification, v doit correspondre à la photo courante: l'URL publiée sert de capacité d'accès")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Photo de profil trouvée",
-                    content = @Content(mediaType = "application/octet-stream")),
+                    content = @Content(mediaType = "image/*")),
+            @ApiResponse(responseCode = "304", description = "Photo inchangée (If-None-Match)", content = @Content),
             @ApiResponse(responseCode = "404", description = "Photo de profil non trouvée", content = @Content)
     })
-    public ResponseEntity<ByteArrayResource> getProfilePicture(@PathVariable Long id) throws ResourceNotFoundException {
-        byte[] profilePicture = userService.getProfilePicture(id);
-        
-        if (profilePicture.length == 0) {
-            // Return empty response if it's a URL (client should fetch it)
-            return ResponseEntity.ok().build();
+    public ResponseEntity<byte[]> getProfilePicture(@PathVariable Long id,
+                                                    @RequestParam(defaultValue = "full") String size,
+                                                    @RequestParam(name = "v", required = false) String version,
+                                                    Principal principal,
+                                                    WebRequest webRequest) throws ResourceNotFoundException {
+        boolean thumbnail = "thumbnail".equalsIgnoreCase(size);
+        ProfilePictureMeta meta = userService.getProfilePictureMeta(id);
+
+        boolean versioned = version != null && version.length() >= 16 && meta.getContentHash().startsWith(version);
+        // Accès anonyme réservé aux URL publiées: sans la bonne version, on ne révèle pas l'existence de la photo
+        if (principal == null && !versioned) {
+            throw new ResourceNotFoundException("Profile picture not found for user: " + id);
         }
-        
-        ByteArrayResource resource = new ByteArrayResource(profilePicture);
+
+        String etag = "\"" + meta.getContentHash() + (thumbnail ? "-t" : "") + "\"";
+        // URL versionnée: le contenu ne change jamais pour cette URL; sinon revalidation par ETag
+        CacheControl cacheControl = versioned
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePrivate();
+
+        // Le contenu n'est lu en base que si le client n'a pas déjà la bonne version
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        byte[] content = userService.getProfilePictureContent(id, thumbnail);
         return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG) // Adjust based on actual image type
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=profile-picture.jpg")
-                .body(resource);
+                .contentType(MediaType.parseMediaType(thumbnail ? meta.getThumbnailType() : meta.getContentType()))
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(content);
     }
 
     @GetMapping("/health")
@@ -0,0 +1,14 @@
+package com.example.userservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Métadonnées d'une photo de profil, sans les colonnes binaires (ETag, type de contenu).
+ */
+public interface ProfilePictureMeta {
+    Long getUserId();
+    String getContentType();
+    String getThumbnailType();
+    String getContentHash();
+    Instant getUpdatedAt();
+}
@@ -13,7 +13,9 @@ public class UserDTO {
     private String fullname;
     private String email;
     private String role;
+    // URLs only: the image itself is served by GET /api/users/{id}/profile-picture
     private String profilePicture;
+    private String profilePictureThumbnail;
 
     // Onboarding-related context
     private TenantType entityType;
@@ -0,0 +1,9 @@
+package com.example.userservice.dto;
+
+/**
+ * Projection id + nom complet, sans charger la photo de profil.
+ */
+public interface UserNameView {
+    Long getId();
+    String getFullname();
+}
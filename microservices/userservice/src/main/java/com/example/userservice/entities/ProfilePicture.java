@@ -0,0 +1,43 @@
+package com.example.userservice.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Photo de profil envoyée par l'utilisateur, hors de la table des utilisateurs:
+ * les listes d'utilisateurs ne lisent jamais ces colonnes.
+ */
+@Entity
+@Table(name = "profile_pictures")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProfilePicture {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false, length = 32)
+    private String contentType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    @Column(nullable = false, length = 32)
+    private String thumbnailType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] thumbnail;
+
+    // SHA-256 de l'image servie: ETag et version de l'URL
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    private Instant updatedAt;
+}
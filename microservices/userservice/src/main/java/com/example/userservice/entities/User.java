@@ -16,10 +16,13 @@ public class User {
     private String password;
     private String role;
     
-    // Profile picture URL or base64 data
-    @Lob
-    @Column(columnDefinition = "LONGTEXT")
-    private String profilePicture;
+    // External profile picture URL; uploaded pictures live in profile_pictures
+    @Column(length = 2048)
+    private String profilePictureUrl;
+
+    // Version of the uploaded picture (hash prefix), part of its URL so clients can cache it forever
+    @Column(length = 16)
+    private String profilePictureVersion;
 
     // User's selected usage type during registration (INDIVIDUAL/STARTUP/ORGANIZATION)
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,14 @@
+package com.example.userservice.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Trop de tentatives de connexion");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -8,6 +8,7 @@ import com.example.userservice.entities.TenantType;
 import com.example.userservice.entities.User;
 import com.example.userservice.repositories.TenantRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -19,6 +20,10 @@ import java.util.stream.Collectors;
 public class UserMapperImpl implements UserMapper {
     
     private final TenantRepository tenantRepository;
+
+    // Base publique (gateway) des URLs de photos de profil
+    @Value("${app.profile-picture.public-base-url:http://localhost:8080}")
+    private String publicBaseUrl;
     
     @Override
     public UserDTO toDTO(User user) {
@@ -35,7 +40,8 @@ public class UserMapperImpl implements UserMapper {
                 .fullname(user.getFullname())
                 .email(user.getEmail())
                 .role(user.getRole())
-                .profilePicture(user.getProfilePicture())
+                .profilePicture(profilePictureUrl(user, false))
+                .profilePictureThumbnail(profilePictureUrl(user, true))
                 .entityType(user.getEntityType())
                 .tenantId(user.getTenantId())
                 .tenantType(user.getTenantType())
@@ -43,6 +49,14 @@ public class UserMapperImpl implements UserMapper {
                 .build();
     }
 
+    private String profilePictureUrl(User user, boolean thumbnail) {
+        if (user.getProfilePictureVersion() == null) {
+            return user.getProfilePictureUrl();
+        }
+        return publicBaseUrl + "/api/users/" + user.getId() + "/profile-picture?"
+                + (thumbnail ? "size=thumbnail&" : "") + "v=" + user.getProfilePictureVersion();
+    }
+
     @Override
     public List<UserDTO> toDTOList(List<User> users) {
         if (users == null) return List.of();
@@ -57,7 +71,6 @@ public class UserMapperImpl implements UserMapper {
         user.setEmail(request.getEmail());
         user.setPassword(request.getPassword());
         user.setRole(request.getRole());
-        user.setProfilePicture(request.getProfilePicture());
         // Map entityType string to enum if provided
         if (request.getEntityType() != null && !request.getEntityType().isBlank()) {
             String et = request.getEntityType().trim().toLowerCase();
@@ -78,7 +91,6 @@ public class UserMapperImpl implements UserMapper {
         if (request.getEmail() != null) user.setEmail(request.getEmail());
         if (request.getPassword() != null) user.setPassword(request.getPassword());
         if (request.getRole() != null) user.setRole(request.getRole());
-        if (request.getProfilePicture() != null) user.setProfilePicture(request.getProfilePicture());
     }
 }
 
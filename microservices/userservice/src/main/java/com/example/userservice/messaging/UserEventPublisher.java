@@ -0,0 +1,31 @@
+package com.example.userservice.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publie les modifications d'utilisateurs pour que les autres services invalident leurs caches (noms, etc.).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventPublisher {
+
+    private final KafkaTemplate<String, UserUpdatedEvent> kafkaTemplate;
+
+    @Value("${app.kafka.topics.user-updated}")
+    private String userUpdatedTopic;
+
+    public void publish(UserUpdatedEvent event) {
+        try {
+            kafkaTemplate.send(userUpdatedTopic, String.valueOf(event.getUserId()), event);
+            log.info("Published UserUpdatedEvent to topic {}: user {}", userUpdatedTopic, event.getUserId());
+        } catch (Exception e) {
+            // Les caches distants expirent de toute façon (TTL): l'échec n'annule pas la mise à jour
+            log.error("Failed to publish UserUpdatedEvent for user {}", event.getUserId(), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.userservice.repositories;
+
+import com.example.userservice.dto.ProfilePictureMeta;
+import com.example.userservice.entities.ProfilePicture;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface ProfilePictureRepository extends JpaRepository<ProfilePicture, Long> {
+
+    @Query("SELECT p.userId AS userId, p.contentType AS contentType, p.thumbnailType AS thumbnailType, "
+            + "p.contentHash AS contentHash, p.updatedAt AS updatedAt FROM ProfilePicture p WHERE p.userId = :userId")
+    Optional<ProfilePictureMeta> findMetaByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.data FROM ProfilePicture p WHERE p.userId = :userId")
+    Optional<byte[]> findDataByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.thumbnail FROM ProfilePicture p WHERE p.userId = :userId")
+    Optional<byte[]> findThumbnailByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProfilePicture p WHERE p.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
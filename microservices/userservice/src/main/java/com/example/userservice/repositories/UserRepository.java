@@ -1,8 +1,12 @@
 package com.example.userservice.repositories;
 
+import com.example.userservice.dto.UserNameView;
 import com.example.userservice.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,5 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     List<User> findByRole(String role);
     List<User> findByFullnameContainingIgnoreCase(String keyword);
+
+    @Query("SELECT u.id AS id, u.fullname AS fullname FROM User u WHERE u.id IN :ids")
+    List<UserNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
 }
 
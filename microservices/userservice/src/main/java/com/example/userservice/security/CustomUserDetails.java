@@ -15,13 +15,29 @@ public class CustomUserDetails implements UserDetails {
     private final Long id;
     private final String email;
     private final String password;
+    private final String role;
+    private final Long tenantId;
     private final Collection<? extends GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
-        this.id = user.getId();
-        this.email = user.getEmail();
-        this.password = user.getPassword();
-        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+        this(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getTenantId());
+    }
+
+    private CustomUserDetails(Long id, String email, String password, String role, Long tenantId) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.tenantId = tenantId;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    /**
+     * Principal construit à partir des claims d'un jeton déjà vérifié, sans accès à la base.
+     * Pas de mot de passe: ce principal ne sert qu'à l'autorisation.
+     */
+    public static CustomUserDetails fromClaims(Long id, String email, String role, Long tenantId) {
+        return new CustomUserDetails(id, email, null, role, tenantId);
     }
 
     @Override
@@ -1,10 +1,14 @@
 package com.example.userservice.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,6 +20,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authentification sans état: le jeton est parsé une seule fois (signature + expiration) et le principal
+ * est construit à partir des claims userId / role / tenantId, sans requête en base.
+ * La base n'est consultée que pour les jetons sans claim userId, ou si le mode sans état est désactivé.
+ * Les endpoints qui ont besoin d'un User à jour le chargent eux-mêmes à partir de l'id du principal.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -23,6 +34,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    @Value("${application.security.jwt.stateless:true}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -30,31 +44,49 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final Claims claims;
+        try {
+            claims = jwtService.parseClaims(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Jeton invalide ou expiré: la requête continue sans authentification (401/403 plus loin)
+            log.debug("Rejected JWT: {}", e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        UserDetails userDetails = principalFrom(claims);
+        if (userDetails != null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails principalFrom(Claims claims) {
+        String email = claims.getSubject();
+        if (email == null) {
+            return null;
+        }
+        Long userId = claims.get("userId", Long.class);
+        if (stateless && userId != null) {
+            return CustomUserDetails.fromClaims(userId, email,
+                    claims.get("role", String.class), claims.get("tenantId", Long.class));
+        }
+        // Jeton sans userId (ancien format) ou mode sans état désactivé: principal chargé depuis la base
+        return userDetailsService.loadUserByUsername(email);
+    }
 }
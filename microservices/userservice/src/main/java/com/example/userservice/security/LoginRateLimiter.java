@@ -0,0 +1,68 @@
+package com.example.userservice.security;
+
+import com.example.userservice.exceptions.TooManyLoginAttemptsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limites de tentatives de connexion: par adresse IP (toutes les tentatives)
+ * et par compte (tentatives depuis le dernier succès).
+ * État local à l'instance: chaque réplique applique ses propres fenêtres.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private final SlidingWindowLimiter perIp;
+    private final SlidingWindowLimiter perAccount;
+
+    public LoginRateLimiter(@Value("${app.auth.rate-limit.ip.max-attempts:60}") int ipMaxAttempts,
+                            @Value("${app.auth.rate-limit.ip.window:PT1M}") Duration ipWindow,
+                            @Value("${app.auth.rate-limit.account.max-failures:5}") int accountMaxFailures,
+                            @Value("${app.auth.rate-limit.account.window:PT15M}") Duration accountWindow,
+                            @Value("${app.auth.rate-limit.max-keys:100000}") int maxKeys) {
+        this.perIp = new SlidingWindowLimiter("ip", ipMaxAttempts, ipWindow.toMillis(), maxKeys);
+        this.perAccount = new SlidingWindowLimiter("account", accountMaxFailures, accountWindow.toMillis(), maxKeys);
+    }
+
+    /**
+     * À appeler avant toute lecture en base ou tout hachage: une tentative refusée ne coûte rien.
+     * La tentative est réservée sur le compte avant la vérification du mot de passe: des essais en parallèle
+     * ne peuvent pas tous passer avant qu'un échec soit enregistré. Un succès remet le compteur à zéro.
+     * @throws TooManyLoginAttemptsException si l'IP ou le compte a dépassé sa limite
+     */
+    public void checkAttempt(String email, String clientIp) {
+        if (clientIp != null && !perIp.tryAcquire(clientIp)) {
+            throw new TooManyLoginAttemptsException(perIp.retryAfterSeconds());
+        }
+        if (!perAccount.tryAcquire(accountKey(email))) {
+            throw new TooManyLoginAttemptsException(perAccount.retryAfterSeconds());
+        }
+    }
+
+    /** Rend la tentative réservée quand le mot de passe n'a pas pu être vérifié (pool de hachage saturé). */
+    public void releaseAttempt(String email) {
+        perAccount.release(accountKey(email));
+    }
+
+    public void recordSuccess(String email) {
+        perAccount.reset(accountKey(email));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.rate-limit.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int removed = perIp.purgeExpired() + perAccount.purgeExpired();
+        if (removed > 0) {
+            log.debug("Purged {} idle login rate-limit entries", removed);
+        }
+    }
+
+    private static String accountKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.userservice.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -47,6 +48,8 @@ public class SecurityConfig {
                                 "/api/onboarding/sso/**",
                                 "/error"
                         ).permitAll()
+                        // Les balises <img> n'envoient pas le jeton: les photos de profil sont publiques
+                        .requestMatchers(HttpMethod.GET, "/api/users/*/profile-picture").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,161 @@
+package com.example.userservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur en mémoire à fenêtre glissante (approximation à deux fenêtres fixes pondérées).
+ * Mémoire constante par clé et bornée à {@code maxKeys} clés: une fois plein, la clé utilisée le moins
+ * récemment est évincée (LRU), aucune nouvelle clé n'échappe à la limite.
+ * Toutes les opérations sont en O(1) sous un même verrou; seule la purge planifiée parcourt les clés.
+ */
+@Slf4j
+public class SlidingWindowLimiter {
+
+    private final String name;
+    private final int limit;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    // Ordre d'accès: l'entrée la plus ancienne est la moins récemment utilisée
+    private final LinkedHashMap<String, Window> windows;
+    private long evictions;
+
+    public SlidingWindowLimiter(String name, int limit, long windowMillis, int maxKeys) {
+        this(name, limit, windowMillis, maxKeys, System::currentTimeMillis);
+    }
+
+    SlidingWindowLimiter(String name, int limit, long windowMillis, int maxKeys, LongSupplier clock) {
+        this.name = name;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                if (size() <= SlidingWindowLimiter.this.maxKeys) {
+                    return false;
+                }
+                if (evictions++ % 10_000 == 0) {
+                    log.warn("Rate limiter '{}' is full ({} keys): evicting least recently used keys", name, maxKeys);
+                }
+                return true;
+            }
+        };
+    }
+
+    private static final class Window {
+        long start;
+        int previous;
+        int current;
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+
+    /**
+     * Compte un événement s'il reste de la place dans la fenêtre.
+     * @return false si la limite est atteinte (l'événement n'est pas compté)
+     */
+    public synchronized boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Window window = windowFor(key, now);
+        roll(window, now);
+        if (estimate(window, now) >= limit) {
+            return false;
+        }
+        window.current++;
+        return true;
+    }
+
+    /** Compte un événement sans condition (ex: un échec de connexion). */
+    public synchronized void record(String key) {
+        long now = clock.getAsLong();
+        Window window = windowFor(key, now);
+        roll(window, now);
+        window.current++;
+    }
+
+    /** Annule un événement compté par {@link #tryAcquire} qui n'a finalement pas eu lieu. */
+    public synchronized void release(String key) {
+        Window window = windows.get(key);
+        if (window == null) {
+            return;
+        }
+        roll(window, clock.getAsLong());
+        if (window.current > 0) {
+            window.current--;
+        }
+    }
+
+    public synchronized boolean isLimited(String key) {
+        Window window = windows.get(key);
+        if (window == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        roll(window, now);
+        return estimate(window, now) >= limit;
+    }
+
+    public synchronized void reset(String key) {
+        windows.remove(key);
+    }
+
+    /** Délai indicatif avant une nouvelle tentative (en-tête Retry-After). */
+    public long retryAfterSeconds() {
+        return Math.max(1, windowMillis / 1000);
+    }
+
+    /** Retire les clés sans activité depuis deux fenêtres: leur estimation est nulle. */
+    public synchronized int purgeExpired() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        for (Iterator<Window> it = windows.values().iterator(); it.hasNext(); ) {
+            if (now - it.next().start >= 2 * windowMillis) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return windows.size();
+    }
+
+    private Window windowFor(String key, long now) {
+        Window window = windows.get(key);
+        if (window == null) {
+            window = new Window(now - now % windowMillis);
+            windows.put(key, window);
+        }
+        return window;
+    }
+
+    private void roll(Window window, long now) {
+        long elapsed = now - window.start;
+        if (elapsed < windowMillis) {
+            return;
+        }
+        if (elapsed < 2 * windowMillis) {
+            window.previous = window.current;
+            window.start += windowMillis;
+        } else {
+            window.previous = 0;
+            window.start = now - now % windowMillis;
+        }
+        window.current = 0;
+    }
+
+    private double estimate(Window window, long now) {
+        double previousWeight = 1.0 - (double) (now - window.start) / windowMillis;
+        return window.previous * previousWeight + window.current;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.userservice.service;
+
+import com.example.userservice.dto.AuthRequest;
+import com.example.userservice.dto.AuthResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthService {
+    CompletableFuture<AuthResponse> login(AuthRequest request, String clientIp);
+}
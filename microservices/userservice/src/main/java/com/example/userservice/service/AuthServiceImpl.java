@@ -0,0 +1,96 @@
+package com.example.userservice.service;
+
+import com.example.userservice.dto.AuthRequest;
+import com.example.userservice.dto.AuthResponse;
+import com.example.userservice.entities.User;
+import com.example.userservice.repositories.UserRepository;
+import com.example.userservice.security.CustomUserDetails;
+import com.example.userservice.security.JwtService;
+import com.example.userservice.security.LoginRateLimiter;
+import com.example.userservice.security.PasswordHashingExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Connexion en une seule lecture de l'utilisateur: limites, lecture, vérification BCrypt
+ * sur le pool dédié, puis émission du jeton depuis l'entité déjà chargée.
+ */
+@Service
+@Slf4j
+public class AuthServiceImpl implements AuthService {
+
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final PasswordHashingExecutor passwordHashing;
+    private final LoginRateLimiter rateLimiter;
+    // Comparé quand l'email est inconnu: même coût BCrypt, pas d'énumération des comptes par le temps de réponse
+    private final String dummyHash;
+
+    public AuthServiceImpl(UserRepository userRepository, JwtService jwtService,
+                           PasswordHashingExecutor passwordHashing, LoginRateLimiter rateLimiter) {
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.passwordHashing = passwordHashing;
+        this.rateLimiter = rateLimiter;
+        this.dummyHash = passwordHashing.encode(UUID.randomUUID().toString());
+    }
+
+    @Override
+    public CompletableFuture<AuthResponse> login(AuthRequest request, String clientIp) {
+        String email = request.getEmail() == null ? "" : request.getEmail().trim();
+        String password = request.getPassword() == null ? "" : request.getPassword();
+        rateLimiter.checkAttempt(email, clientIp);
+
+        User user = email.isEmpty() ? null : userRepository.findByEmail(email).orElse(null);
+        String hash = user != null && user.getPassword() != null ? user.getPassword() : dummyHash;
+
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = passwordHashing.matches(password, hash);
+        } catch (RejectedExecutionException e) {
+            rateLimiter.releaseAttempt(email);
+            throw e;
+        }
+        // La tentative est déjà comptée par checkAttempt: un échec n'a rien à enregistrer
+        return verification.thenApply(matches -> {
+            if (user == null || !matches) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            rateLimiter.recordSuccess(email);
+            return toResponse(user);
+        });
+    }
+
+    private AuthResponse toResponse(User user) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("userId", user.getId());
+        extraClaims.put("role", user.getRole());
+        if (user.getTenantId() != null) {
+            extraClaims.put("tenantId", user.getTenantId());
+        }
+        if (user.getTenantType() != null) {
+            extraClaims.put("tenantType", user.getTenantType().name());
+        }
+        if (user.getEntityType() != null) {
+            extraClaims.put("entityType", user.getEntityType().name());
+        }
+
+        String token = jwtService.generateToken(extraClaims, new CustomUserDetails(user));
+
+        return AuthResponse.builder()
+                .token(token)
+                .role(user.getRole())
+                .userId(user.getId())
+                .tenantId(user.getTenantId())
+                .tenantType(user.getTenantType() != null ? user.getTenantType().name() : null)
+                .entityType(user.getEntityType() != null ? user.getEntityType().name() : null)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.userservice.service;
+
+import com.example.images.ImageResizer;
+import com.example.images.UnsupportedImageException;
+import com.example.userservice.exceptions.InvalidImageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Décode une photo de profil envoyée, la réencode (taille bornée, métadonnées retirées)
+ * et produit une vignette carrée de taille fixe.
+ * JPEG pour les images opaques, PNG quand il y a de la transparence.
+ */
+@Component
+public class ProfilePictureProcessor {
+
+    public record ProcessedPicture(byte[] data, String contentType,
+                                   byte[] thumbnail, String thumbnailType,
+                                   String contentHash) {
+    }
+
+    @Value("${app.profile-picture.max-dimension:512}")
+    private int maxDimension;
+
+    @Value("${app.profile-picture.thumbnail-size:128}")
+    private int thumbnailSize;
+
+    // Refuse les images dont le décodage coûterait trop de mémoire (40 Mpx ~ 160 Mo en ARGB)
+    @Value("${app.profile-picture.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Value("${app.profile-picture.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    public ProcessedPicture process(byte[] input) {
+        if (input == null || input.length == 0) {
+            throw new InvalidImageException("Fichier image vide");
+        }
+        try {
+            BufferedImage source = ImageResizer.decode(new ByteArrayInputStream(input), maxPixels);
+            boolean alpha = ImageResizer.hasAlpha(source);
+
+            BufferedImage full = ImageResizer.fit(source, maxDimension, alpha);
+            BufferedImage thumb = ImageResizer.squareThumbnail(source, thumbnailSize, alpha);
+
+            String type = ImageResizer.contentType(alpha);
+            byte[] data = ImageResizer.encode(full, alpha, jpegQuality);
+            byte[] thumbnail = ImageResizer.encode(thumb, alpha, jpegQuality);
+            return new ProcessedPicture(data, type, thumbnail, type, sha256(data));
+        } catch (UnsupportedImageException e) {
+            throw new InvalidImageException("Format d'image non supporté ou image trop grande", e);
+        } catch (IOException e) {
+            throw new InvalidImageException("Image illisible", e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.userservice.service;
 
+import com.example.userservice.dto.ProfilePictureMeta;
 import com.example.userservice.dto.UserCreateRequest;
 import com.example.userservice.dto.UserDTO;
 import com.example.userservice.dto.UserUpdateRequest;
 import com.example.userservice.exceptions.ResourceNotFoundException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface UserService {
     UserDTO createUser(UserCreateRequest request);
@@ -21,7 +24,9 @@ public interface UserService {
     // Profile picture management
     UserDTO uploadProfilePicture(Long userId, MultipartFile file) throws ResourceNotFoundException;
     UserDTO updateProfilePicture(Long userId, String profilePictureUrl) throws ResourceNotFoundException;
-    byte[] getProfilePicture(Long userId) throws ResourceNotFoundException;
+    ProfilePictureMeta getProfilePictureMeta(Long userId) throws ResourceNotFoundException;
+    byte[] getProfilePictureContent(Long userId, boolean thumbnail) throws ResourceNotFoundException;
     String getUserNameById(Long userId) throws ResourceNotFoundException;
+    Map<Long, String> getUserNamesByIds(Collection<Long> userIds);
 }
 
@@ -1,15 +1,22 @@
 package com.example.userservice.service;
 
+import com.example.userservice.dto.ProfilePictureMeta;
 import com.example.userservice.dto.RedeemRequest;
 import com.example.userservice.dto.RedeemResponse;
 import com.example.userservice.dto.TenantCreateRequest;
 import com.example.userservice.dto.UserCreateRequest;
 import com.example.userservice.dto.UserDTO;
+import com.example.userservice.dto.UserNameView;
 import com.example.userservice.dto.UserUpdateRequest;
+import com.example.userservice.entities.ProfilePicture;
 import com.example.userservice.entities.User;
 import com.example.userservice.entities.TenantType;
+import com.example.userservice.exceptions.InvalidImageException;
 import com.example.userservice.exceptions.ResourceNotFoundException;
 import com.example.userservice.mapper.UserMapper;
+import com.example.userservice.messaging.UserEventPublisher;
+import com.example.userservice.messaging.UserUpdatedEvent;
+import com.example.userservice.repositories.ProfilePictureRepository;
 import com.example.userservice.repositories.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +26,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Base64;
 
 @Service
@@ -32,6 +43,9 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final OnboardingService onboardingService;
     private final TenantService tenantService;
+    private final UserEventPublisher userEventPublisher;
+    private final ProfilePictureRepository profilePictureRepository;
+    private final ProfilePictureProcessor profilePictureProcessor;
 
     @Override
     public UserDTO createUser(UserCreateRequest request) {
@@ -73,6 +87,15 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         // Save in its own transaction to avoid rollback caused by external failures
         User saved = saveUserTransactional(user);
+        // L'image est stockée sous l'id de l'utilisateur: seulement après la première sauvegarde
+        if (request.getProfilePicture() != null && !request.getProfilePicture().isBlank()) {
+            try {
+                applyProfilePicture(saved, request.getProfilePicture());
+                saved = userRepository.save(saved);
+            } catch (InvalidImageException ex) {
+                log.warn("Ignoring invalid profile picture for new user {}: {}", saved.getId(), ex.getMessage());
+            }
+        }
         return userMapper.toDTO(saved);
     }
 
@@ -105,11 +128,15 @@ public class UserServiceImpl implements UserService {
         }
         
         // Update profile picture if provided
-        if (request.getProfilePicture() != null) {
-            existing.setProfilePicture(request.getProfilePicture());
-        }
+        applyProfilePicture(existing, request.getProfilePicture());
         
         User saved = userRepository.save(existing);
+        userEventPublisher.publish(UserUpdatedEvent.builder()
+                .userId(saved.getId())
+                .fullname(saved.getFullname())
+                .tenantId(saved.getTenantId())
+                .updatedAt(Instant.now())
+                .build());
         return userMapper.toDTO(saved);
     }
 
@@ -118,6 +145,15 @@ public class UserServiceImpl implements UserService {
         User existing = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         userRepository.delete(existing);
+        if (existing.getProfilePictureVersion() != null) {
+            profilePictureRepository.deleteByUserId(id);
+        }
+        userEventPublisher.publish(UserUpdatedEvent.builder()
+                .userId(id)
+                .tenantId(existing.getTenantId())
+                .deleted(true)
+                .updatedAt(Instant.now())
+                .build());
     }
 
     @Override
@@ -142,29 +178,19 @@ public class UserServiceImpl implements UserService {
     public UserDTO uploadProfilePicture(Long userId, MultipartFile file) throws ResourceNotFoundException {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        
+
+        byte[] imageBytes;
         try {
-            // Convert image to base64 for storage
-            byte[] imageBytes = file.getBytes();
-            String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-            
-            // Determine if it's a base64 image or URL
-            String profilePicture = base64Image;
-            if (file.getContentType() != null && file.getContentType().startsWith("image/")) {
-                // It's an image file, store as data URL
-                profilePicture = "data:" + file.getContentType() + ";base64," + base64Image;
-            }
-            
-            user.setProfilePicture(profilePicture);
-            User saved = userRepository.save(user);
-            
-            log.info("Profile picture uploaded successfully for user: {}", userId);
-            return userMapper.toDTO(saved);
-            
+            imageBytes = file.getBytes();
         } catch (IOException e) {
-            log.error("Failed to process profile picture for user: {}", userId, e);
-            throw new RuntimeException("Failed to process profile picture", e);
+            log.error("Failed to read profile picture for user: {}", userId, e);
+            throw new RuntimeException("Failed to read profile picture", e);
         }
+        storeProfilePicture(user, imageBytes);
+        User saved = userRepository.save(user);
+
+        log.info("Profile picture uploaded successfully for user: {}", userId);
+        return userMapper.toDTO(saved);
     }
 
     @Override
@@ -173,7 +199,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
-        user.setProfilePicture(profilePictureUrl);
+        applyProfilePicture(user, profilePictureUrl);
         User saved = userRepository.save(user);
         
         log.info("Profile picture updated successfully for user: {}", userId);
@@ -181,22 +207,62 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public byte[] getProfilePicture(Long userId) throws ResourceNotFoundException {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        
-        if (user.getProfilePicture() == null) {
-            throw new ResourceNotFoundException("Profile picture not found for user: " + userId);
+    public ProfilePictureMeta getProfilePictureMeta(Long userId) throws ResourceNotFoundException {
+        return profilePictureRepository.findMetaByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile picture not found for user: " + userId));
+    }
+
+    @Override
+    public byte[] getProfilePictureContent(Long userId, boolean thumbnail) throws ResourceNotFoundException {
+        return (thumbnail
+                ? profilePictureRepository.findThumbnailByUserId(userId)
+                : profilePictureRepository.findDataByUserId(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Profile picture not found for user: " + userId));
+    }
+
+    /**
+     * Valeur reçue des clients: data URL (image à stocker), URL externe, ou vide pour retirer la photo.
+     */
+    private void applyProfilePicture(User user, String value) {
+        if (value == null) {
+            return;
         }
-        
-        // If it's a data URL, extract the base64 part
-        if (user.getProfilePicture().startsWith("data:")) {
-            String base64Data = user.getProfilePicture().split(",")[1];
-            return Base64.getDecoder().decode(base64Data);
+        String trimmed = value.trim();
+        if (trimmed.startsWith("data:")) {
+            int comma = trimmed.indexOf(',');
+            if (comma < 0 || !trimmed.substring(0, comma).endsWith(";base64")) {
+                throw new InvalidImageException("Data URL invalide");
+            }
+            byte[] imageBytes;
+            try {
+                imageBytes = Base64.getDecoder().decode(trimmed.substring(comma + 1));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidImageException("Data URL invalide", e);
+            }
+            storeProfilePicture(user, imageBytes);
+            return;
         }
-        
-        // If it's a regular URL, return empty array (client should fetch the URL)
-        return new byte[0];
+        if (user.getProfilePictureVersion() != null) {
+            profilePictureRepository.deleteByUserId(user.getId());
+            user.setProfilePictureVersion(null);
+        }
+        user.setProfilePictureUrl(trimmed.isEmpty() ? null : trimmed);
+    }
+
+    private void storeProfilePicture(User user, byte[] imageBytes) {
+        ProfilePictureProcessor.ProcessedPicture processed = profilePictureProcessor.process(imageBytes);
+        ProfilePicture picture = new ProfilePicture();
+        picture.setUserId(user.getId());
+        picture.setContentType(processed.contentType());
+        picture.setData(processed.data());
+        picture.setThumbnailType(processed.thumbnailType());
+        picture.setThumbnail(processed.thumbnail());
+        picture.setContentHash(processed.contentHash());
+        picture.setUpdatedAt(Instant.now());
+        profilePictureRepository.save(picture);
+
+        user.setProfilePictureVersion(processed.contentHash().substring(0, 16));
+        user.setProfilePictureUrl(null);
     }
 
     @Override
@@ -205,5 +271,18 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         return user.getFullname();
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, String> getUserNamesByIds(Collection<Long> userIds) {
+        Map<Long, String> names = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return names;
+        }
+        // Les ids inconnus sont simplement absents de la réponse
+        for (UserNameView user : userRepository.findNamesByIdIn(userIds)) {
+            names.put(user.getId(), user.getFullname());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.userservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLimiterTests {
+
+    private static final long WINDOW = 60_000;
+
+    private final AtomicLong now = new AtomicLong(10 * WINDOW);
+
+    @Test
+    void rejectsOnceLimitIsReachedWithinWindow() {
+        SlidingWindowLimiter limiter = limiter(3, 100);
+
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isFalse();
+        assertThat(limiter.isLimited("k")).isTrue();
+        assertThat(limiter.tryAcquire("other")).isTrue();
+    }
+
+    @Test
+    void previousWindowWeighsLessAsTimePasses() {
+        SlidingWindowLimiter limiter = limiter(3, 100);
+        for (int i = 0; i < 4; i++) {
+            limiter.record("k");
+        }
+
+        // Début de la fenêtre suivante: les 4 événements précédents comptent encore presque entièrement
+        now.addAndGet(WINDOW + 1);
+        assertThat(limiter.isLimited("k")).isTrue();
+
+        // Aux trois quarts: 4 * 0.25 = 1 événement estimé
+        now.addAndGet(3 * WINDOW / 4);
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isFalse();
+
+        // Deux fenêtres sans activité: plus rien n'est compté
+        now.addAndGet(2 * WINDOW);
+        assertThat(limiter.isLimited("k")).isFalse();
+    }
+
+    @Test
+    void releaseGivesBackReservedEvent() {
+        SlidingWindowLimiter limiter = limiter(1, 100);
+
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        limiter.release("k");
+        assertThat(limiter.tryAcquire("k")).isTrue();
+        assertThat(limiter.tryAcquire("k")).isFalse();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKeyWhenFull() {
+        SlidingWindowLimiter limiter = limiter(1, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.isLimited("a");
+
+        // La nouvelle clé est limitée normalement; "b", la moins récemment utilisée, est évincée
+        assertThat(limiter.tryAcquire("c")).isTrue();
+        assertThat(limiter.tryAcquire("c")).isFalse();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.isLimited("a")).isTrue();
+        assertThat(limiter.isLimited("b")).isFalse();
+    }
+
+    @Test
+    void purgeRemovesIdleKeys() {
+        SlidingWindowLimiter limiter = limiter(5, 100);
+        limiter.record("idle");
+        now.addAndGet(WINDOW);
+        limiter.record("active");
+        now.addAndGet(WINDOW);
+
+        assertThat(limiter.purgeExpired()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    private SlidingWindowLimiter limiter(int limit, int maxKeys) {
+        return new SlidingWindowLimiter("test", limit, WINDOW, maxKeys, now::get);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.voteservice.Controller;
 
+import com.example.voteservice.Model.Dto.IdeaVoteSummary;
 import com.example.voteservice.Model.Dto.VoteDto;
 import com.example.voteservice.Model.enums.VoteType;
 import com.example.voteservice.Service.VoteService;
@@ -13,6 +14,8 @@ import java.util.List;
 @RequestMapping("/votes")
 public class VoteController {
 
+    private static final int MAX_BULK_IDEAS = 200;
+
     private final VoteService service;
 
     public VoteController(VoteService service) {
@@ -82,6 +85,18 @@ public class VoteController {
         return service.hasVoted(currentUserId, ideaId);
     }
 
+    // ===== BULK (fil d'idées) =====
+
+    @GetMapping("/bulk")
+    public List<IdeaVoteSummary> bulkSummaries(
+            @RequestHeader(value = "X-User-Id", required = false) Long currentUserId,
+            @RequestParam List<Long> ideaIds) {
+        if (ideaIds.size() > MAX_BULK_IDEAS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK_IDEAS + " ideaIds per request");
+        }
+        return service.getVoteSummaries(ideaIds, currentUserId);
+    }
+
     // ================= DELETE =================
     @DeleteMapping("/{id}")
     public void deleteVote(@PathVariable Long id,
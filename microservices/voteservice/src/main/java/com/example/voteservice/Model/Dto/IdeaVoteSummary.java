@@ -0,0 +1,25 @@
+package com.example.voteservice.Model.Dto;
+
+import com.example.voteservice.Model.enums.VoteType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * État des votes d'une idée pour une carte du fil: total, répartition par type et vote de l'utilisateur courant.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdeaVoteSummary {
+    private Long ideaId;
+    private long count;
+    private Map<VoteType, Long> countsByType;
+    private boolean hasVoted;
+    private Long myVoteId;      // null si l'utilisateur n'a pas voté
+    private VoteType myVoteType;
+}
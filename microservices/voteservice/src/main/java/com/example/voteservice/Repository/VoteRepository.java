@@ -2,8 +2,12 @@ package com.example.voteservice.Repository;
 
 import com.example.voteservice.Model.entities.Vote;
 import com.example.voteservice.Model.enums.VoteType;
+import com.example.voteservice.counter.VoteTypeCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -24,4 +28,13 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     boolean existsByUserIdAndIdeaId(Long userId, Long ideaId);
 
     Vote findByUserIdAndIdeaId(Long userId, Long ideaId);
+
+    @Query("SELECT v.ideaId AS ideaId, v.voteType AS voteType, COUNT(v) AS total FROM Vote v GROUP BY v.ideaId, v.voteType")
+    List<VoteTypeCount> countGroupedByIdeaAndType();
+
+    @Query("SELECT v.ideaId AS ideaId, v.voteType AS voteType, COUNT(v) AS total FROM Vote v " +
+            "WHERE v.ideaId IN :ideaIds GROUP BY v.ideaId, v.voteType")
+    List<VoteTypeCount> countGroupedByIdeaIdIn(@Param("ideaIds") Collection<Long> ideaIds);
+
+    List<Vote> findByUserIdAndIdeaIdIn(Long userId, Collection<Long> ideaIds);
 }
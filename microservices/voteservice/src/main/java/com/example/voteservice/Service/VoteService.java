@@ -1,5 +1,6 @@
 package com.example.voteservice.Service;
 
+import com.example.voteservice.Model.Dto.IdeaVoteSummary;
 import com.example.voteservice.Model.Dto.VoteDto;
 import com.example.voteservice.Model.enums.VoteType;
 
@@ -28,4 +29,7 @@ public interface VoteService {
 
     // 🆕 HAS VOTED
     boolean hasVoted(Long userId, Long ideaId);
+
+    // BULK: état des votes de plusieurs idées en un appel (userId null: pas de vote utilisateur)
+    List<IdeaVoteSummary> getVoteSummaries(List<Long> ideaIds, Long userId);
 }
@@ -1,18 +1,31 @@
 package com.example.voteservice.Service;
 
 import com.example.voteservice.Exceptions.ResourceNotFoundException;
+import com.example.voteservice.Model.Dto.IdeaVoteSummary;
 import com.example.voteservice.Model.Dto.VoteDto;
 import com.example.voteservice.Model.entities.Vote;
 import com.example.voteservice.Model.enums.VoteType;
 import com.example.voteservice.Repository.VoteRepository;
 import com.example.voteservice.client.IdeaClient;
+import com.example.voteservice.counter.VoteCounters;
 import com.example.voteservice.mapper.VoteMapper;
-import com.example.voteservice.messaging.NotificationEvent;
-import com.example.voteservice.messaging.NotificationPublisher;
+import com.example.voteservice.messaging.VoteChangedEvent;
+import com.example.voteservice.counter.VoteTypeCount;
+import com.example.voteservice.messaging.VoteEventPublisher;
+import com.example.messaging.NotificationEvent;
+import com.example.messaging.NotificationPublisher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -21,20 +34,27 @@ public class VoteServiceImpl implements VoteService {
     private final VoteRepository repo;
     private final VoteMapper mapper;
     private final NotificationPublisher notificationPublisher;
+    private final VoteEventPublisher voteEventPublisher;
     private final IdeaClient ideaClient;
+    private final VoteCounters voteCounters;
 
     public VoteServiceImpl(VoteRepository repo, VoteMapper mapper,
                            NotificationPublisher notificationPublisher,
-                           IdeaClient ideaClient) {
+                           VoteEventPublisher voteEventPublisher,
+                           IdeaClient ideaClient,
+                           VoteCounters voteCounters) {
         this.repo = repo;
         this.mapper = mapper;
         this.notificationPublisher = notificationPublisher;
+        this.voteEventPublisher = voteEventPublisher;
         this.ideaClient = ideaClient;
+        this.voteCounters = voteCounters;
     }
 
  
 
     @Override
+    @Transactional
     public VoteDto addVote(VoteDto dto, String actorName) {
 
         // empêcher double vote
@@ -44,18 +64,26 @@ public class VoteServiceImpl implements VoteService {
 
         Vote saved = repo.save(mapper.toEntity(dto));
 
-        // Calculate total votes for this idea (this will be stored as vote_count in ideas table)
-        long totalVotes = repo.countByIdeaId(dto.getIdeaId());
-        Long ownerId = ideaClient.getIdeaOwnerId(dto.getIdeaId());
-        
-        // Update voteCount in Idea service (vote_count field in database = total number of votes)
+        // Après le commit: seul le vote validé est compté et publié
+        afterCommit(() -> {
+            voteCounters.increment(saved.getIdeaId(), saved.getVoteType());
+            // vote_count est mis à jour de façon asynchrone par ideaservice (deltas agrégés par idée)
+            publishVoteChanged(saved, "ADDED", 1);
+            notifyOwner(saved.getIdeaId(), actorName, countVotesByIdea(saved.getIdeaId()));
+        });
+
+        return mapper.toDto(saved);
+    }
+
+    private void notifyOwner(Long ideaId, String actorName, long totalVotes) {
+        Long ownerId = null;
         try {
-            ideaClient.updateVoteCount(dto.getIdeaId(), (int) totalVotes);
-            log.info("Updated vote_count for idea {} to {} (total votes)", dto.getIdeaId(), totalVotes);
+            ownerId = ideaClient.getIdeaOwnerId(ideaId);
         } catch (Exception e) {
-            log.error("Failed to update vote_count for idea {}: {}", dto.getIdeaId(), e.getMessage());
+            // Le vote est enregistré: seule la notification au propriétaire est perdue
+            log.warn("Could not resolve owner of idea {} for vote notification: {}", ideaId, e.getMessage());
         }
-        
+
         if (ownerId != null) {
             String msg = buildVoteMessage(actorName, totalVotes);
             NotificationEvent event = NotificationEvent.builder()
@@ -64,11 +92,35 @@ public class VoteServiceImpl implements VoteService {
                     .title("Nouveau vote")
                     .message(msg)
                     .createdAt(Instant.now())
+                    .ideaId(ideaId)
+                    .actorName(actorName)
                     .build();
-            notificationPublisher.publish(String.valueOf(dto.getIdeaId()), event);
+            notificationPublisher.publish(String.valueOf(ownerId), event);
         }
+    }
 
-        return mapper.toDto(saved);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publishVoteChanged(Vote vote, String change, int delta) {
+        voteEventPublisher.publish(VoteChangedEvent.builder()
+                .ideaId(vote.getIdeaId())
+                .userId(vote.getUserId())
+                .change(change)
+                .voteType(vote.getVoteType())
+                .delta(delta)
+                .occurredAt(Instant.now())
+                .build());
     }
 
     private String buildVoteMessage(String actorName, long total) {
@@ -110,6 +162,7 @@ public class VoteServiceImpl implements VoteService {
 
     // ================= DELETE =================
     @Override
+    @Transactional
     public void deleteVote(Long id, Long currentUserId) {
         Vote vote = repo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vote not found with id " + id));
@@ -119,18 +172,14 @@ public class VoteServiceImpl implements VoteService {
                     "You can only delete your own votes");
         }
         
-        Long ideaId = vote.getIdeaId();
         repo.deleteById(id);
-        
-        // Update voteCount in Idea service after deletion (vote_count field = remaining total votes)
-        try {
-            long totalVotes = repo.countByIdeaId(ideaId);
-            ideaClient.updateVoteCount(ideaId, (int) totalVotes);
-            log.info("Updated vote_count for idea {} to {} after deletion (remaining votes)", ideaId, totalVotes);
-        } catch (Exception e) {
-            log.error("Failed to update vote_count for idea {} after deletion: {}", ideaId, e.getMessage());
-        }
-        
+
+        // vote_count (votes restants) propagé à ideaservice par événement
+        afterCommit(() -> {
+            voteCounters.decrement(vote.getIdeaId(), vote.getVoteType());
+            publishVoteChanged(vote, "REMOVED", -1);
+        });
+
         // No notification on delete (per requirements)
     }
 
@@ -147,23 +196,26 @@ public class VoteServiceImpl implements VoteService {
         }
         
         // Update vote type if provided
+        VoteType previousType = existingVote.getVoteType();
         if (dto.getVoteType() != null) {
             existingVote.setVoteType(dto.getVoteType());
         }
         
         Vote updatedVote = repo.save(existingVote);
+        voteCounters.changeType(updatedVote.getIdeaId(), previousType, updatedVote.getVoteType());
         return mapper.toDto(updatedVote);
     }
 
     // ================= COUNT =================
     @Override
     public long countVotesByIdea(Long ideaId) {
-        return repo.countByIdeaId(ideaId);
+        // Compteurs en mémoire une fois chargés; COUNT(*) uniquement pendant le démarrage
+        return voteCounters.isReady() ? voteCounters.total(ideaId) : repo.countByIdeaId(ideaId);
     }
 
     @Override
     public long countVotesByIdeaAndType(Long ideaId, VoteType type) {
-        return repo.countByIdeaIdAndVoteType(ideaId, type);
+        return voteCounters.isReady() ? voteCounters.count(ideaId, type) : repo.countByIdeaIdAndVoteType(ideaId, type);
     }
 
     @Override
@@ -176,4 +228,62 @@ public class VoteServiceImpl implements VoteService {
     public boolean hasVoted(Long userId, Long ideaId) {
         return repo.existsByUserIdAndIdeaId(userId, ideaId);
     }
+
+    // ================= BULK =================
+    @Override
+    public List<IdeaVoteSummary> getVoteSummaries(List<Long> ideaIds, Long userId) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(ideaIds));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Long> totals = new HashMap<>();
+        Map<Long, Map<VoteType, Long>> countsByIdea = new HashMap<>();
+        if (voteCounters.isReady()) {
+            for (Long ideaId : ids) {
+                totals.put(ideaId, voteCounters.total(ideaId));
+                Map<VoteType, Long> byType = new EnumMap<>(VoteType.class);
+                for (VoteType type : VoteType.values()) {
+                    byType.put(type, voteCounters.count(ideaId, type));
+                }
+                countsByIdea.put(ideaId, byType);
+            }
+        } else {
+            // Un seul GROUP BY pour toutes les idées
+            for (VoteTypeCount row : repo.countGroupedByIdeaIdIn(ids)) {
+                totals.merge(row.getIdeaId(), row.getTotal(), Long::sum);
+                if (row.getVoteType() != null) {
+                    countsByIdea.computeIfAbsent(row.getIdeaId(), id -> new EnumMap<>(VoteType.class))
+                            .put(row.getVoteType(), row.getTotal());
+                }
+            }
+        }
+
+        // Et un seul IN pour les votes de l'utilisateur
+        Map<Long, Vote> myVotes = new HashMap<>();
+        if (userId != null) {
+            for (Vote vote : repo.findByUserIdAndIdeaIdIn(userId, ids)) {
+                myVotes.put(vote.getIdeaId(), vote);
+            }
+        }
+
+        List<IdeaVoteSummary> summaries = new ArrayList<>(ids.size());
+        for (Long ideaId : ids) {
+            Map<VoteType, Long> byType = new EnumMap<>(VoteType.class);
+            Map<VoteType, Long> counted = countsByIdea.getOrDefault(ideaId, Map.of());
+            for (VoteType type : VoteType.values()) {
+                byType.put(type, counted.getOrDefault(type, 0L));
+            }
+            Vote mine = myVotes.get(ideaId);
+            summaries.add(IdeaVoteSummary.builder()
+                    .ideaId(ideaId)
+                    .count(totals.getOrDefault(ideaId, 0L))
+                    .countsByType(byType)
+                    .hasVoted(mine != null)
+                    .myVoteId(mine == null ? null : mine.getId())
+                    .myVoteType(mine == null ? null : mine.getVoteType())
+                    .build());
+        }
+        return summaries;
+    }
 }
@@ -3,9 +3,11 @@ package com.example.voteservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.example.voteservice.client")
+@EnableScheduling
 public class VoteserviceApplication {
     public static void main(String[] args) {
         SpringApplication.run(VoteserviceApplication.class, args);
@@ -0,0 +1,158 @@
+package com.example.voteservice.counter;
+
+import com.example.voteservice.Model.enums.VoteType;
+import com.example.voteservice.Repository.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs de votes en mémoire, par idée et par {@link VoteType} (une cellule {@link LongAdder}
+ * par type, plus une pour les votes sans type). Les lectures sont O(1) et sans verrou.
+ * <p>
+ * Chargés depuis la base au démarrage, mis à jour après chaque écriture validée, puis réconciliés
+ * périodiquement avec un {@code GROUP BY}. Un écart n'est corrigé que s'il est observé à l'identique
+ * deux fois de suite: un écart transitoire (vote en cours entre la lecture SQL et la comparaison)
+ * n'est jamais « corrigé » à tort.
+ * <p>
+ * Avant la fin du chargement, les écritures ne touchent pas les compteurs: le {@code GROUP BY} les compte
+ * déjà si elles ont eu lieu avant lui, et la réconciliation rattrape celles faites pendant le chargement.
+ * Ajouter les deux compterait certains votes deux fois.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VoteCounters {
+
+    private static final int UNTYPED = VoteType.values().length;
+
+    private final VoteRepository voteRepository;
+
+    private final ConcurrentHashMap<Long, LongAdder[]> counts = new ConcurrentHashMap<>();
+    // écarts observés lors de la réconciliation précédente, par (idée, cellule)
+    private final Map<CellKey, Long> pendingDrift = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        for (VoteTypeCount row : voteRepository.countGroupedByIdeaAndType()) {
+            cells(row.getIdeaId())[index(row.getVoteType())].add(row.getTotal());
+        }
+        ready = true;
+        log.info("Vote counters warmed up for {} ideas in {} ms", counts.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Tant que les compteurs ne sont pas chargés, les appelants lisent la base.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void increment(Long ideaId, VoteType type) {
+        if (ready && ideaId != null) {
+            cells(ideaId)[index(type)].increment();
+        }
+    }
+
+    public void decrement(Long ideaId, VoteType type) {
+        if (ready && ideaId != null) {
+            cells(ideaId)[index(type)].decrement();
+        }
+    }
+
+    public void changeType(Long ideaId, VoteType from, VoteType to) {
+        if (!ready || ideaId == null || index(from) == index(to)) {
+            return;
+        }
+        LongAdder[] cells = cells(ideaId);
+        cells[index(to)].increment();
+        cells[index(from)].decrement();
+    }
+
+    public long total(Long ideaId) {
+        LongAdder[] cells = counts.get(ideaId);
+        if (cells == null) {
+            return 0L;
+        }
+        long total = 0L;
+        for (LongAdder cell : cells) {
+            total += cell.sum();
+        }
+        return Math.max(0L, total);
+    }
+
+    public long count(Long ideaId, VoteType type) {
+        LongAdder[] cells = counts.get(ideaId);
+        return cells == null ? 0L : Math.max(0L, cells[index(type)].sum());
+    }
+
+    @Scheduled(fixedDelayString = "${app.votes.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.votes.counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        if (!ready) {
+            return;
+        }
+        Map<CellKey, Long> expected = new HashMap<>();
+        for (VoteTypeCount row : voteRepository.countGroupedByIdeaAndType()) {
+            expected.put(new CellKey(row.getIdeaId(), index(row.getVoteType())), row.getTotal());
+        }
+
+        Set<CellKey> keys = new HashSet<>(expected.keySet());
+        counts.forEach((ideaId, cells) -> {
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i].sum() != 0) {
+                    keys.add(new CellKey(ideaId, i));
+                }
+            }
+        });
+
+        int repaired = 0;
+        Map<CellKey, Long> drifts = new HashMap<>();
+        for (CellKey key : keys) {
+            LongAdder cell = cells(key.ideaId())[key.cell()];
+            long drift = expected.getOrDefault(key, 0L) - cell.sum();
+            if (drift == 0) {
+                continue;
+            }
+            if (Long.valueOf(drift).equals(pendingDrift.get(key))) {
+                cell.add(drift);
+                repaired++;
+            } else {
+                drifts.put(key, drift);
+            }
+        }
+        pendingDrift.clear();
+        pendingDrift.putAll(drifts);
+        if (repaired > 0 || !drifts.isEmpty()) {
+            log.warn("Vote counters reconciliation: {} cells repaired, {} drifting cells to re-check", repaired, drifts.size());
+        }
+    }
+
+    private LongAdder[] cells(Long ideaId) {
+        return counts.computeIfAbsent(ideaId, id -> {
+            LongAdder[] cells = new LongAdder[UNTYPED + 1];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+            return cells;
+        });
+    }
+
+    private static int index(VoteType type) {
+        return type == null ? UNTYPED : type.ordinal();
+    }
+
+    private record CellKey(Long ideaId, int cell) {}
+}
@@ -0,0 +1,12 @@
+package com.example.voteservice.counter;
+
+import com.example.voteservice.Model.enums.VoteType;
+
+/**
+ * Ligne d'agrégat (idée, type de vote, nombre) lue par {@code GROUP BY}.
+ */
+public interface VoteTypeCount {
+    Long getIdeaId();
+    VoteType getVoteType();
+    Long getTotal();
+}
@@ -0,0 +1,23 @@
+package com.example.voteservice.messaging;
+
+import com.example.voteservice.Model.enums.VoteType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteChangedEvent {
+    private Long ideaId;
+    private Long userId;
+    private String change; // ADDED, UPDATED, REMOVED
+    private VoteType voteType;
+    // +1 / -1: ideaservice applique chaque delta une seule fois, repéré par l'offset du message (clé = ideaId)
+    private int delta;
+    private Instant occurredAt;
+}
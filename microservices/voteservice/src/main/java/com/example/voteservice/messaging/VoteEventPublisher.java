@@ -0,0 +1,32 @@
+package com.example.voteservice.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publie les changements de votes, clé = ideaId: tous les événements d'une idée sont ordonnés sur une partition.
+ * ideaservice les agrège pour mettre à jour vote_count; l'offset dans la partition sert de version par idée.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoteEventPublisher {
+
+    private final KafkaTemplate<String, VoteChangedEvent> kafkaTemplate;
+
+    @Value("${app.kafka.topics.vote-changed}")
+    private String voteChangedTopic;
+
+    public void publish(VoteChangedEvent event) {
+        try {
+            kafkaTemplate.send(voteChangedTopic, String.valueOf(event.getIdeaId()), event);
+            log.debug("[VoteService] Published vote change: idea={}, change={}, delta={}",
+                    event.getIdeaId(), event.getChange(), event.getDelta());
+        } catch (Exception e) {
+            log.error("[VoteService] Failed to publish vote change for idea {}: {}", event.getIdeaId(), e.getMessage(), e);
+        }
+    }
+}